@@ -0,0 +1,88 @@
+package clap.benchmarks;
+
+import clap.DaemonReply;
+import clap.Manager;
+import clap.ParseDaemon;
+import clap.ParseDaemonClient;
+import clap.arguments.IntegerArgument;
+import clap.arguments.SimpleArgument;
+import clap.arguments.StringArgument;
+import clap.exceptions.ArgumentException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the end-to-end latency of a command line sent to a {@link ParseDaemon} over its Unix domain socket,
+ * i.e. the framing, the round trip through the socket, the parsing and the dispatch to the handler.
+ * Each benchmark thread is a client with its own connection, e.g. {@code -t 8} measures eight concurrent clients.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DaemonBenchmark {
+    /**
+     * The daemon shared by all clients.
+     */
+    @State(Scope.Benchmark)
+    public static class Daemon {
+        /**
+         * The number of the defined options.
+         */
+        @Param({"8", "512"})
+        int optionsCount;
+
+        private Path directory;
+        private ParseDaemon daemon;
+
+        @Setup
+        public void setup() throws ArgumentException, IOException {
+            Manager manager = new Manager(new String[0]);
+            for (int i = 0; i < optionsCount; i++) {
+                switch (i % 3) {
+                    case 0 -> manager.makeArgument(SimpleArgument.class).addName("flag-" + i).finishGeneral();
+                    case 1 -> manager.makeArgument(StringArgument.class).addName("string-" + i).finishGeneral();
+                    default -> manager.makeArgument(IntegerArgument.class).addName("integer-" + i).finishGeneral();
+                }
+            }
+            directory = Files.createTempDirectory("clap-benchmark");
+            daemon = new ParseDaemon(manager.freeze(), result -> "ok", directory.resolve("daemon.sock")).start();
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            daemon.close();
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * The connection of a benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Client {
+        private ParseDaemonClient client;
+
+        @Setup
+        public void setup(Daemon daemon) throws IOException {
+            client = new ParseDaemonClient(daemon.daemon.getSocket());
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            client.close();
+        }
+    }
+
+    private static final String[] ARGUMENTS = {"--flag-0", "--string-1", "value", "--integer-2", "42", "plain"};
+
+    @Benchmark
+    public DaemonReply roundTrip(Client client) throws IOException {
+        return client.client.parse(ARGUMENTS);
+    }
+}
@@ -0,0 +1,102 @@
+package clap.benchmarks;
+
+import clap.Manager;
+import clap.ParseResult;
+import clap.Schema;
+import clap.arguments.IntegerArgument;
+import clap.arguments.SimpleArgument;
+import clap.arguments.StringArgument;
+import clap.exceptions.ArgumentException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of whole command lines, i.e. the token loop and the lookup of names.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+    /**
+     * The number of the defined options.
+     */
+    @Param({"8", "512"})
+    int optionsCount;
+
+    /**
+     * The number of the tokens on the command line.
+     */
+    @Param({"4", "256"})
+    int tokensCount;
+
+    /**
+     * Whether the options with parameters have validators.
+     */
+    @Param({"false", "true"})
+    boolean validators;
+
+    private String[] rawArguments;
+    private Manager manager;
+    private Schema schema;
+
+    @Setup
+    public void setup() throws ArgumentException {
+        manager = new Manager(new String[0]);
+        for (int i = 0; i < optionsCount; i++) {
+            switch (i % 3) {
+                case 0 -> manager.makeArgument(SimpleArgument.class)
+                        .addName("f" + i).addName("flag-" + i).finishGeneral();
+                case 1 -> {
+                    StringArgument argument = manager.makeArgument(StringArgument.class)
+                            .addName("s" + i).addName("string-" + i).finishGeneral();
+                    if (validators) {
+                        argument.setValidator(value -> !value.isEmpty());
+                    }
+                }
+                default -> {
+                    IntegerArgument argument = manager.makeArgument(IntegerArgument.class)
+                            .addName("i" + i).addName("integer-" + i).finishGeneral();
+                    if (validators) {
+                        argument.setValidator(value -> value >= 0);
+                    }
+                }
+            }
+        }
+        schema = manager.freeze();
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; tokens.size() < tokensCount; i++) {
+            int option = (i * 7) % optionsCount;
+            switch (option % 3) {
+                case 0 -> tokens.add("--flag-" + option);
+                case 1 -> {
+                    tokens.add("-s" + option);
+                    tokens.add("value" + i);
+                }
+                default -> {
+                    tokens.add("--integer-" + option);
+                    tokens.add(Integer.toString(i));
+                }
+            }
+        }
+        rawArguments = tokens.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public ParseResult schemaParse() throws ArgumentException {
+        return schema.parse(rawArguments);
+    }
+
+    @Benchmark
+    public int managerResetAndParse() throws ArgumentException {
+        manager.reset(rawArguments);
+        manager.parseArguments();
+        return manager.getParsedArgumentsCount();
+    }
+}
@@ -0,0 +1,76 @@
+package clap.benchmarks;
+
+import clap.Manager;
+import clap.Schema;
+import clap.arguments.IntegerArgument;
+import clap.arguments.SimpleArgument;
+import clap.arguments.StringArgument;
+import clap.exceptions.ArgumentException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the definition of many arguments by the builders with the loading of their binary snapshot,
+ * and measures what freezing the definitions into a schema adds. With the GC profiler, the difference of the allocation
+ * per operation of {@link #defineAndFreeze()} and {@link #defineArguments()} is the footprint of the frozen schema.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+    /**
+     * The number of the defined options.
+     */
+    @Param({"1000", "10000"})
+    int optionsCount;
+
+    private Path file;
+
+    @Setup
+    public void setup() throws ArgumentException, IOException {
+        file = Files.createTempFile("clap-benchmark", ".snapshot");
+        declare().exportSnapshot(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    private Manager declare() throws ArgumentException {
+        Manager manager = new Manager(new String[0]);
+        for (int i = 0; i < optionsCount; i++) {
+            switch (i % 3) {
+                case 0 -> manager.makeArgument(SimpleArgument::new)
+                        .addName("f" + i).addName("flag-" + i).setDescription("Flag " + i).finishGeneral();
+                case 1 -> manager.makeArgument(StringArgument::new)
+                        .addName("s" + i).addName("string-" + i).setDescription("String " + i).finishGeneral();
+                default -> manager.makeArgument(IntegerArgument::new)
+                        .addName("i" + i).addName("integer-" + i).setDescription("Integer " + i).finishGeneral().setSeparator(',');
+            }
+        }
+        return manager;
+    }
+
+    @Benchmark
+    public Manager defineArguments() throws ArgumentException {
+        return declare();
+    }
+
+    @Benchmark
+    public Schema defineAndFreeze() throws ArgumentException {
+        return declare().freeze();
+    }
+
+    @Benchmark
+    public Manager loadSnapshot() throws IOException {
+        return Manager.loadSnapshot(file, new String[0]);
+    }
+}
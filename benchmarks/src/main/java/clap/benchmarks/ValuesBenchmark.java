@@ -0,0 +1,77 @@
+package clap.benchmarks;
+
+import clap.Manager;
+import clap.ParseResult;
+import clap.Schema;
+import clap.arguments.IntegerArgument;
+import clap.arguments.StringArgument;
+import clap.exceptions.ArgumentException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures splitting, conversion and validation of the values of a single option.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValuesBenchmark {
+    /**
+     * The number of the values, a single value is not split by a separator.
+     */
+    @Param({"1", "1000", "100000"})
+    int valuesCount;
+
+    /**
+     * Whether the option has a validator.
+     */
+    @Param({"false", "true"})
+    boolean validators;
+
+    private String[] integerArguments;
+    private String[] stringArguments;
+    private Schema schema;
+
+    @Setup
+    public void setup() throws ArgumentException {
+        Manager manager = new Manager(new String[0]);
+        IntegerArgument integers = manager.makeArgument(IntegerArgument.class).addName("i").finishGeneral();
+        StringArgument strings = manager.makeArgument(StringArgument.class).addName("s").finishGeneral();
+        if (valuesCount > 1) {
+            integers.setSeparator(',');
+            strings.setSeparator(',');
+        }
+        if (validators) {
+            integers.setValidator(value -> value >= 0);
+            strings.setValidator(value -> !value.isEmpty());
+        }
+        schema = manager.freeze();
+
+        StringBuilder integerValues = new StringBuilder();
+        StringBuilder stringValues = new StringBuilder();
+        for (int i = 0; i < valuesCount; i++) {
+            if (i > 0) {
+                integerValues.append(',');
+                stringValues.append(',');
+            }
+            integerValues.append(i * 31);
+            stringValues.append("value").append(i);
+        }
+        integerArguments = new String[]{"-i", integerValues.toString()};
+        stringArguments = new String[]{"-s", stringValues.toString()};
+    }
+
+    @Benchmark
+    public ParseResult integerValues() throws ArgumentException {
+        return schema.parse(integerArguments);
+    }
+
+    @Benchmark
+    public ParseResult stringValues() throws ArgumentException {
+        return schema.parse(stringArguments);
+    }
+}
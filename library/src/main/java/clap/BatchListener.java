@@ -0,0 +1,15 @@
+package clap;
+
+/**
+ * Receives the result of each command line parsed by a {@link BatchParser}.
+ * The listener is called concurrently from many threads, the lines of a single chunk of the file are reported in order.
+ */
+@FunctionalInterface
+public interface BatchListener {
+    /**
+     * Receives the result of a single command line.
+     * @param offset position of the first byte of the line in the file
+     * @param result result of the parsing of the line, all its values are already converted and validated
+     */
+    void lineParsed(long offset, ParseResult result);
+}
@@ -0,0 +1,207 @@
+package clap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parses many command lines from a file in parallel. Each line of the file is a single command line,
+ * see {@link Tokenizer} for the syntax of a line. The file is split into chunks, which are parsed by a fork-join pool.
+ * The lines are recorded data, so tokens starting with {@code @} are never replaced by response files.
+ * The values of arguments which convert their values lazily are converted too, so a line passes only if all its values are valid.
+ * The lines are parsed concurrently, so a schema with custom arguments, which store their values themselves, is rejected.
+ */
+public final class BatchParser {
+    /**
+     * The default size of a chunk of the file in bytes.
+     */
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private final Schema schema;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+
+    /**
+     * Creates a batch parser, which uses the common fork-join pool.
+     * @param schema schema of the command lines
+     * @throws IllegalArgumentException If the schema has custom arguments, see {@link Schema#hasCustomArguments()}.
+     */
+    public BatchParser(Schema schema) {
+        this(schema, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+
+    /**
+     * Creates a batch parser.
+     * @param schema schema of the command lines
+     * @param pool pool which parses the chunks of the file
+     * @param chunkSize approximate size of a chunk of the file in bytes
+     * @throws IllegalArgumentException If the schema has custom arguments, see {@link Schema#hasCustomArguments()}.
+     */
+    public BatchParser(Schema schema, ForkJoinPool pool, int chunkSize) {
+        if (schema == null || pool == null) {
+            throw new IllegalArgumentException("Schema and pool cannot be null!");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive!");
+        }
+        if (schema.hasCustomArguments()) {
+            throw new IllegalArgumentException("Schema with custom arguments cannot parse lines concurrently!");
+        }
+        this.schema = schema;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+
+    /**
+     * Parses each line of the file and reports the results to the listener.
+     * @param file newline-delimited file of command lines
+     * @param listener receiver of the result of each line, it is called concurrently
+     * @return aggregate statistics of all lines
+     * @throws IOException If the file cannot be read.
+     */
+    public BatchStatistics parse(Path file, BatchListener listener) throws IOException {
+        Objects.requireNonNull(file, "File cannot be null!");
+        Objects.requireNonNull(listener, "Listener cannot be null!");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<ChunkTask> tasks = new ArrayList<>();
+            long size = channel.size();
+            long start = 0;
+            while (start < size) {
+                long end = findLineEnd(channel, Math.min(start + chunkSize, size), size);
+                tasks.add(new ChunkTask(channel, start, end, listener));
+                start = end;
+            }
+
+            BatchStatistics statistics = new BatchStatistics();
+            for (ChunkTask task : tasks) {
+                pool.execute(task);
+            }
+            try {
+                for (ChunkTask task : tasks) {
+                    statistics.merge(task.join());
+                }
+            }
+            catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return statistics;
+        }
+    }
+
+
+    /**
+     * Finds the end of the line which contains the given position.
+     * @param channel channel of the file
+     * @param position position in the file
+     * @param size size of the file
+     * @return position after the newline which ends the line, or the size of the file
+     */
+    private static long findLineEnd(FileChannel channel, long position, long size) throws IOException {
+        if (position >= size) {
+            return size;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return size;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+
+    /**
+     * Parses the lines of a chunk of the file.
+     */
+    @SuppressWarnings("serial") // the tasks are never serialized
+    private final class ChunkTask extends RecursiveTask<BatchStatistics> {
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private final BatchListener listener;
+
+        ChunkTask(FileChannel channel, long start, long end, BatchListener listener) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.listener = listener;
+        }
+
+        @Override
+        protected BatchStatistics compute() {
+            BatchStatistics statistics = new BatchStatistics();
+            MappedByteBuffer chunk;
+            try {
+                chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            LineTokenizer line = new LineTokenizer(chunk);
+            int lineStart = 0;
+            while (lineStart < chunk.limit()) {
+                int lineEnd = lineStart;
+                while (lineEnd < chunk.limit() && chunk.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                line.reset(lineStart, lineEnd);
+                ParseResult result = schema.tryParseWithoutResponseFiles(line);
+                result.validateAll();
+                statistics.add(result);
+                listener.lineParsed(start + lineStart, result);
+                lineStart = lineEnd + 1;
+            }
+            return statistics;
+        }
+    }
+
+
+    /**
+     * Supplies the tokens of a single line of a chunk.
+     */
+    private static final class LineTokenizer extends Tokenizer implements TokenSource {
+        private final ByteBuffer chunk;
+        private int position;
+        private int end;
+
+        LineTokenizer(ByteBuffer chunk) {
+            this.chunk = chunk;
+        }
+
+        void reset(int start, int end) {
+            position = start;
+            this.end = end;
+        }
+
+        @Override
+        int read() {
+            return position < end ? chunk.get(position++) & 0xff : -1;
+        }
+
+        @Override
+        public String next() throws IOException {
+            return super.next();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package clap;
+
+/**
+ * Aggregate statistics of the command lines parsed by a {@link BatchParser}.
+ */
+public final class BatchStatistics {
+    private long lines = 0;
+    /**
+     * The number of failures of each kind, indexed by {@link ParseError#ordinal()}.
+     */
+    private final long[] failures = new long[ParseError.values().length];
+
+
+    /**
+     * Creates empty statistics.
+     */
+    BatchStatistics() {
+    }
+
+
+    /**
+     * Counts the result of a single command line.
+     * @param result result of the parsing of the line
+     */
+    void add(ParseResult result) {
+        lines++;
+        if (!result.isSuccessful()) {
+            failures[result.getError().ordinal()]++;
+        }
+    }
+
+
+    /**
+     * Adds the counts of other statistics to these statistics.
+     * @param other other statistics
+     */
+    void merge(BatchStatistics other) {
+        lines += other.lines;
+        for (int i = 0; i < failures.length; i++) {
+            failures[i] += other.failures[i];
+        }
+    }
+
+
+    /**
+     * Returns the number of the parsed command lines.
+     * @return number of the lines
+     */
+    public long getLines() {
+        return lines;
+    }
+
+
+    /**
+     * Returns the number of the command lines which are parsed successfully.
+     * @return number of the valid lines
+     */
+    public long getPassed() {
+        return lines - getFailed();
+    }
+
+
+    /**
+     * Returns the number of the command lines which fail parsing.
+     * @return number of the invalid lines
+     */
+    public long getFailed() {
+        long failed = 0;
+        for (long count : failures) {
+            failed += count;
+        }
+        return failed;
+    }
+
+
+    /**
+     * Returns the number of the command lines which fail parsing with the given kind of failure.
+     * @param error the kind of the failure
+     * @return number of the lines with the failure
+     */
+    public long getFailures(ParseError error) {
+        return failures[error.ordinal()];
+    }
+}
@@ -0,0 +1,15 @@
+package clap;
+
+/**
+ * Runs the command of a command line parsed by a {@link ParseDaemon}.
+ */
+@FunctionalInterface
+public interface CommandHandler {
+    /**
+     * Runs the command, it is called concurrently for different command lines.
+     * @param result successful result of the parsing with all values converted
+     * @return output of the command for the client, null is sent as an empty output
+     * @throws Exception If the command fails, the message is sent to the client.
+     */
+    String handle(ParseResult result) throws Exception;
+}
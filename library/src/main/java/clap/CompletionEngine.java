@@ -0,0 +1,133 @@
+package clap;
+
+import clap.arguments.ArgumentSyntax;
+import clap.arguments.SimpleArgument;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completes partial command lines of a {@link Schema}, e.g. for the tab completion of a shell.
+ * A word starting with a dash is completed to the argument names, and the parameter of an argument is completed
+ * to the values registered by {@link #addValues(SimpleArgument, List)}. The engine is immutable once the values are added,
+ * so it can complete command lines from many threads at once.
+ */
+public final class CompletionEngine {
+    private final Schema schema;
+    /**
+     * The trie of the names of the arguments.
+     */
+    private final PrefixTrie names;
+    /**
+     * Known values of the parameters by the indexes of the arguments.
+     */
+    private final Map<Integer, List<String>> values = new HashMap<>();
+
+
+    /**
+     * Creates an engine completing the names of the arguments of the schema.
+     * @param schema schema of the command lines
+     */
+    public CompletionEngine(Schema schema) {
+        if (schema == null) {
+            throw new IllegalArgumentException("Schema cannot be null!");
+        }
+        this.schema = schema;
+        names = schema.prefixTrie();
+    }
+
+
+    /**
+     * Registers the known values of the parameter of the argument.
+     * @param argument argument of the schema expecting a parameter
+     * @param values the known values in the order of their completion
+     * @return this instance
+     */
+    public CompletionEngine addValues(SimpleArgument argument, List<String> values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Values cannot be null!");
+        }
+        int slot = schema.slotOf(argument);
+        if (!schema.expectsParameter(slot)) {
+            throw new IllegalArgumentException("The argument does not expect a parameter!");
+        }
+        this.values.put(slot, List.copyOf(values));
+        return this;
+    }
+
+
+    /**
+     * Completes the word under the cursor.
+     * @param words words of the command line without the name of the program
+     * @param cursor index of the completed word, it is the number of the words if a new word is started
+     * @return candidates for the word, an empty list if there are none
+     */
+    public List<String> complete(List<String> words, int cursor) {
+        if (words == null) {
+            throw new IllegalArgumentException("Words cannot be null!");
+        }
+        if (cursor < 0 || cursor > words.size()) {
+            throw new IllegalArgumentException("Cursor is out of the words!");
+        }
+        int expecting = -1;
+        boolean plainOnly = false;
+        for (int i = 0; i < cursor; i++) {
+            String word = words.get(i);
+            if (expecting >= 0) {
+                expecting = -1;
+            }
+            else if (!plainOnly && word.equals("--")) {
+                plainOnly = true;
+            }
+            else if (!plainOnly && word.startsWith("-")) {
+                int slot = schema.findArgument(word);
+                expecting = slot >= 0 && schema.expectsParameter(slot) ? slot : -1;
+            }
+        }
+
+        String current = cursor < words.size() ? words.get(cursor) : "";
+        if (expecting >= 0) {
+            return completeValue(expecting, current);
+        }
+        if (plainOnly || !(current.isEmpty() || current.startsWith("-"))) {
+            return List.of();
+        }
+        return completeName(current);
+    }
+
+
+    /**
+     * Completes the parameter of the argument.
+     * @param slot index of the argument
+     * @param prefix typed part of the parameter
+     * @return known values starting with the prefix
+     */
+    private List<String> completeValue(int slot, String prefix) {
+        List<String> candidates = new ArrayList<>();
+        for (String value : values.getOrDefault(slot, List.of())) {
+            if (value.startsWith(prefix)) {
+                candidates.add(value);
+            }
+        }
+        return candidates;
+    }
+
+
+    /**
+     * Completes the name of an argument with the typed dashes, or with a dash before single character names
+     * and two dashes before longer names if no dash is typed.
+     * @param prefix typed part of the name
+     * @return names starting with the prefix in alphabetical order
+     */
+    private List<String> completeName(String prefix) {
+        int dashes = ArgumentSyntax.countDashes(prefix);
+        List<String> candidates = new ArrayList<>();
+        for (String name : names.candidates(prefix, dashes, prefix.length())) {
+            String typedDashes = dashes > 0 ? prefix.substring(0, dashes) : name.length() == 1 ? "-" : "--";
+            candidates.add(typedDashes + name);
+        }
+        return candidates;
+    }
+}
@@ -0,0 +1,193 @@
+package clap;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the completions of a {@link CompletionEngine} over a Unix domain socket, so a shell completes
+ * the command lines without starting a JVM for each key press. The shell script {@code clap/completion.bash}
+ * among the resources of the library is a client of the server.
+ * <p>
+ * A connection carries a single request and its response. The request is the index of the completed word
+ * followed by the words of the command line without the name of the program, each of them terminated by {@code '\0'}.
+ * The client shuts down its output after the request. The response is the candidates, each of them terminated by {@code '\n'}.
+ * Everything is encoded in UTF-8. The connections are served concurrently, so a client which does not finish its request
+ * delays only itself.
+ */
+public final class CompletionServer implements AutoCloseable {
+    private final CompletionEngine engine;
+    private final Path socket;
+    /**
+     * The open connections, they are closed with the server.
+     */
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocketChannel channel;
+    /**
+     * The daemon threads serving the connections, they are created when the server starts.
+     */
+    private ExecutorService executor;
+    private Thread acceptor;
+
+
+    /**
+     * Creates a server, it listens after {@link #start()} is called.
+     * @param engine engine completing the command lines
+     * @param socket path of the socket file
+     */
+    public CompletionServer(CompletionEngine engine, Path socket) {
+        if (engine == null || socket == null) {
+            throw new IllegalArgumentException("Engine and socket cannot be null!");
+        }
+        this.engine = engine;
+        this.socket = socket;
+    }
+
+
+    /**
+     * Binds the socket and accepts the connections in a daemon thread. A stale socket file left by a previous server is replaced,
+     * but neither another file nor the socket of a running server is.
+     * @return this instance
+     * @throws IOException If the socket cannot be bound, e.g. because the address is in use.
+     */
+    public synchronized CompletionServer start() throws IOException {
+        if (channel != null) {
+            throw new IllegalStateException("The server is already started!");
+        }
+        channel = UnixSockets.bind(socket);
+        executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "clap-completion-connection");
+            thread.setDaemon(true);
+            return thread;
+        });
+        acceptor = new Thread(this::acceptConnections, "clap-completion-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return this;
+    }
+
+
+    /**
+     * Returns the path of the socket file.
+     * @return path of the socket file
+     */
+    public Path getSocket() {
+        return socket;
+    }
+
+
+    /**
+     * Hands each accepted connection to the executor until the server is closed.
+     */
+    private void acceptConnections() {
+        while (true) {
+            SocketChannel connection;
+            try {
+                connection = channel.accept();
+            }
+            catch (ClosedChannelException e) {
+                return;
+            }
+            catch (IOException e) {
+                if (UnixSockets.backOff(channel)) {
+                    continue;
+                }
+                return;
+            }
+            connections.add(connection);
+            try {
+                executor.execute(() -> serveConnection(connection));
+            }
+            catch (RuntimeException e) {
+                connections.remove(connection);
+                try {
+                    connection.close();
+                }
+                catch (IOException ignored) {
+                    // the connection is dropped anyway
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Serves the request of the connection and closes it.
+     * @param connection connection of the client
+     */
+    private void serveConnection(SocketChannel connection) {
+        try (connection) {
+            serve(connection);
+        }
+        catch (IOException | RuntimeException e) {
+            // a broken request affects only its own connection
+        }
+        finally {
+            connections.remove(connection);
+        }
+    }
+
+
+    /**
+     * Reads a request from the connection and writes the candidates.
+     * @param connection connection of the client
+     * @throws IOException If the connection fails.
+     */
+    private void serve(SocketChannel connection) throws IOException {
+        Reader reader = Channels.newReader(connection, StandardCharsets.UTF_8);
+        TokenSource source = TokenSource.of(reader, '\0');
+        String cursor = source.next();
+        if (cursor == null) {
+            return;
+        }
+        List<String> words = new ArrayList<>();
+        String word;
+        while ((word = source.next()) != null) {
+            words.add(word);
+        }
+        List<String> candidates = engine.complete(words, Integer.parseInt(cursor.trim()));
+        Writer writer = Channels.newWriter(connection, StandardCharsets.UTF_8);
+        for (String candidate : candidates) {
+            writer.write(candidate);
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+
+    /**
+     * Stops accepting connections, closes the open ones and deletes the socket file.
+     * @throws IOException If the socket cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        channel.close();
+        try {
+            acceptor.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SocketChannel connection : connections) {
+            connection.close();
+        }
+        executor.shutdown();
+        channel = null;
+        UnixSockets.unlink(socket);
+    }
+}
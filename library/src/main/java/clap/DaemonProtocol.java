@@ -0,0 +1,132 @@
+package clap;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The binary framing of {@link ParseDaemon}. Each frame is its length in bytes followed by the payload, all numbers are big endian ints
+ * and each string is its length in bytes followed by its UTF-8 bytes.
+ * <p>
+ * A request is the number of the arguments followed by the arguments. A reply starts with a status byte:
+ * <ul>
+ * <li>{@link #PARSED} is followed by the number of the set arguments, the index of each set argument with the number
+ * and the strings of its values, the trailing arguments prefixed by their number, and the output of the handler,</li>
+ * <li>{@link #PARSE_FAILED} is followed by the ordinal of the {@link ParseError}, the index of the offending argument and the message,</li>
+ * <li>{@link #HANDLER_FAILED} is followed by the message.</li>
+ * </ul>
+ */
+final class DaemonProtocol {
+    /**
+     * The status of a successful parsing.
+     */
+    static final byte PARSED = 0;
+    /**
+     * The status of a failed parsing.
+     */
+    static final byte PARSE_FAILED = 1;
+    /**
+     * The status of a failure of the handler.
+     */
+    static final byte HANDLER_FAILED = 2;
+    /**
+     * The largest accepted frame, it protects the daemon from corrupted lengths.
+     */
+    static final int MAX_FRAME_SIZE = 16 << 20;
+
+    private DaemonProtocol() {
+    }
+
+    /**
+     * Reads the payload of a frame.
+     * @param input the input
+     * @return the payload, null if the input ends before the frame
+     * @throws IOException If the input cannot be read or the frame is too large.
+     */
+    static byte[] readFrame(DataInputStream input) throws IOException {
+        int first = input.read();
+        if (first < 0) {
+            return null;
+        }
+        int length = (first << 24) | (input.readUnsignedByte() << 16) | (input.readUnsignedShort());
+        if (length < 0 || length > MAX_FRAME_SIZE) {
+            throw new IOException("Invalid frame length " + length);
+        }
+        byte[] payload = new byte[length];
+        input.readFully(payload);
+        return payload;
+    }
+
+    /**
+     * Writes the payload as a frame and flushes the output.
+     * @param output the output
+     * @param payload the payload
+     * @param length the length of the payload
+     * @throws IOException If the output cannot be written.
+     */
+    static void writeFrame(DataOutputStream output, byte[] payload, int length) throws IOException {
+        output.writeInt(length);
+        output.write(payload, 0, length);
+        output.flush();
+    }
+
+    /**
+     * Writes a string.
+     * @param output the output
+     * @param value the string
+     * @throws IOException If the output cannot be written.
+     */
+    static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Writes the strings prefixed by their number.
+     * @param output the output
+     * @param values the strings
+     * @throws IOException If the output cannot be written.
+     */
+    static void writeStrings(DataOutputStream output, String[] values) throws IOException {
+        output.writeInt(values.length);
+        for (String value : values) {
+            writeString(output, value);
+        }
+    }
+
+    /**
+     * Reads a string.
+     * @param input the input
+     * @return the string
+     * @throws IOException If the input cannot be read or the string is longer than the frame.
+     */
+    static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0 || length > input.available()) {
+            throw new IOException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the strings prefixed by their number.
+     * @param input the input
+     * @return the strings
+     * @throws IOException If the input cannot be read or the number is larger than the frame.
+     */
+    static String[] readStrings(DataInputStream input) throws IOException {
+        int count = input.readInt();
+        if (count < 0 || count > input.available() / Integer.BYTES) {
+            throw new IOException("Invalid number of strings " + count);
+        }
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = readString(input);
+        }
+        return values;
+    }
+}
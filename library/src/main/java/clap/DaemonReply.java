@@ -0,0 +1,112 @@
+package clap;
+
+import java.util.Map;
+
+/**
+ * The reply of a {@link ParseDaemon} to a command line, it is received by {@link ParseDaemonClient}.
+ */
+public final class DaemonReply {
+    private final ParseError error;
+    private final int errorIndex;
+    private final String errorMessage;
+    /**
+     * The formatted values by the indexes of the set arguments in the order of their definition.
+     */
+    private final Map<Integer, String[]> values;
+    private final String[] trailingArguments;
+    private final String output;
+
+
+    /**
+     * Creates a reply.
+     * @param error the kind of the failure of the parsing, null if the parsing succeeds
+     * @param errorIndex index of the offending argument, -1 if there is none
+     * @param errorMessage description of the failure, null if the command succeeds
+     * @param values formatted values by the indexes of the set arguments
+     * @param trailingArguments the trailing arguments
+     * @param output output of the handler
+     */
+    DaemonReply(ParseError error, int errorIndex, String errorMessage, Map<Integer, String[]> values, String[] trailingArguments, String output) {
+        this.error = error;
+        this.errorIndex = errorIndex;
+        this.errorMessage = errorMessage;
+        this.values = values;
+        this.trailingArguments = trailingArguments;
+        this.output = output;
+    }
+
+
+    /**
+     * Returns whether the command line is parsed and handled successfully.
+     * @return true if the command succeeds, false otherwise
+     */
+    public boolean isSuccessful() {
+        return errorMessage == null;
+    }
+
+
+    /**
+     * Returns the kind of the failure of the parsing.
+     * @return the kind of the failure, null if the parsing succeeds, even if the handler fails
+     */
+    public ParseError getError() {
+        return error;
+    }
+
+
+    /**
+     * Returns the index of the command line argument which causes the failure of the parsing.
+     * @return index of the offending argument, -1 if there is none
+     */
+    public int getErrorIndex() {
+        return errorIndex;
+    }
+
+
+    /**
+     * Returns the description of the failure of the parsing or the message of the failed handler.
+     * @return description of the failure, null if the command succeeds
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+
+    /**
+     * Returns whether the argument is set.
+     * @param slot index of the argument in the order of the definition in the schema of the daemon
+     * @return true if the argument is set, false otherwise
+     */
+    public boolean isSet(int slot) {
+        return values.containsKey(slot);
+    }
+
+
+    /**
+     * Returns the values of the argument formatted by {@link String#valueOf(Object)}.
+     * @param slot index of the argument in the order of the definition in the schema of the daemon
+     * @return the values, an empty array if the argument has no values, null if it is not set
+     */
+    public String[] getValues(int slot) {
+        String[] formatted = values.get(slot);
+        return formatted == null ? null : formatted.clone();
+    }
+
+
+    /**
+     * Returns the remaining plain arguments.
+     * @return the trailing arguments
+     */
+    public String[] getTrailingArguments() {
+        return trailingArguments.clone();
+    }
+
+
+    /**
+     * Returns the output of the handler.
+     * @return output of the handler, an empty string if the command fails or there is no handler
+     */
+    public String getOutput() {
+        return output;
+    }
+}
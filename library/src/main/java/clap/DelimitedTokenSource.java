@@ -0,0 +1,75 @@
+package clap;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads arguments terminated by a delimiter from a reader. The delimiter after the last argument is optional.
+ * If the delimiter is a newline, a carriage return before it is dropped.
+ */
+final class DelimitedTokenSource implements TokenSource {
+    private final Reader reader;
+    private final char delimiter;
+    /**
+     * Characters read from the reader but not yet consumed.
+     */
+    private final char[] buffer = new char[8192];
+    private int position = 0;
+    private int limit = 0;
+    /**
+     * The argument being read, it is reused for each argument.
+     */
+    private final StringBuilder token = new StringBuilder();
+
+
+    /**
+     * Creates a source of the arguments read from the reader.
+     * @param reader reader of the arguments
+     * @param delimiter character which terminates each argument
+     */
+    DelimitedTokenSource(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String next() throws IOException {
+        token.setLength(0);
+        while (true) {
+            if (position == limit) {
+                limit = reader.read(buffer);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return token.length() == 0 ? null : finishToken();
+                }
+            }
+            int start = position;
+            while (position < limit && buffer[position] != delimiter) {
+                position++;
+            }
+            token.append(buffer, start, position - start);
+            if (position < limit) {
+                position++;
+                return finishToken();
+            }
+        }
+    }
+
+
+    /**
+     * Creates the string of the argument being read.
+     * @return the argument
+     */
+    private String finishToken() {
+        int length = token.length();
+        if (delimiter == '\n' && length > 0 && token.charAt(length - 1) == '\r') {
+            length--;
+        }
+        return token.substring(0, length);
+    }
+}
@@ -0,0 +1,14 @@
+package clap;
+
+/**
+ * The interface for the validator of the double parameters, which avoids boxing of the values.
+ */
+@FunctionalInterface
+public interface DoubleValidator {
+    /**
+     * Validates the value of the parameter.
+     * @param value the value of the parameter
+     * @return true if the value is valid, false otherwise
+     */
+    boolean validate(double value);
+}
@@ -0,0 +1,14 @@
+package clap;
+
+/**
+ * The interface for the validator of the integer parameters, which avoids boxing of the values.
+ */
+@FunctionalInterface
+public interface IntValidator {
+    /**
+     * Validates the value of the parameter.
+     * @param value the value of the parameter
+     * @return true if the value is valid, false otherwise
+     */
+    boolean validate(int value);
+}
@@ -0,0 +1,111 @@
+package clap;
+
+import clap.arguments.ValueConverter;
+
+/**
+ * The values of an argument which converts its values lazily. The raw value is split to its elements while parsing,
+ * and each element is converted and validated on its first access.
+ */
+final class LazyValues {
+    private final String rawValue;
+    /**
+     * The bounds of the elements in {@link #rawValue}, see {@link ValueConverter#split(String)}.
+     */
+    private final int[] bounds;
+    private final ValueConverter converter;
+    /**
+     * The index of the raw value on the command line.
+     */
+    private final int index;
+    /**
+     * The converted elements, null until the first element is converted.
+     */
+    private Object values;
+    /**
+     * The flags whether each element is converted, null until the first element is converted.
+     */
+    private boolean[] converted;
+
+
+    /**
+     * Splits the raw value without converting it.
+     * @param rawValue raw value from the command line
+     * @param converter converter of the argument
+     * @param index index of the raw value on the command line
+     */
+    LazyValues(String rawValue, ValueConverter converter, int index) {
+        this.rawValue = rawValue;
+        this.converter = converter;
+        this.index = index;
+        bounds = converter.split(rawValue);
+    }
+
+
+    /**
+     * Returns the number of the elements.
+     * @return number of the elements
+     */
+    int count() {
+        return bounds.length - 1;
+    }
+
+
+    /**
+     * Returns the index of the raw value on the command line.
+     * @return index of the raw value
+     */
+    int index() {
+        return index;
+    }
+
+
+    /**
+     * Returns the raw value.
+     * @return the raw value from the command line
+     */
+    String rawValue() {
+        return rawValue;
+    }
+
+
+    /**
+     * Returns the bounds of the elements in the raw value.
+     * @return bounds of the elements, see {@link ValueConverter#split(String)}
+     */
+    int[] bounds() {
+        return bounds;
+    }
+
+
+    /**
+     * Converts and validates the element unless it is already converted.
+     * @param element index of the element
+     * @return null if the element is valid, the {@link ValueConverter.Failure} otherwise
+     */
+    Object convert(int element) {
+        if (converted != null && converted[element]) {
+            return null;
+        }
+        if (values == null) {
+            values = converter.newValues(count());
+            converted = new boolean[count()];
+        }
+        if (!converter.parseElement(rawValue, bounds[element] + 1, bounds[element + 1], values, element)) {
+            return ValueConverter.Failure.MALFORMED;
+        }
+        if (!converter.isValid(values, element)) {
+            return ValueConverter.Failure.REJECTED;
+        }
+        converted[element] = true;
+        return null;
+    }
+
+
+    /**
+     * Returns the array of the values, only the converted elements are valid.
+     * @return array of the values, null if no element is converted yet
+     */
+    Object values() {
+        return values;
+    }
+}
@@ -3,31 +3,87 @@ package clap;
 import clap.exceptions.ArgumentException;
 import clap.arguments.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * The main class of the Command Line Argument Parser organizes other parts.
  */
 public final class Manager {
+    /**
+     * The constructors of the argument types taking the manager, null if a type does not have an accessible one.
+     */
+    private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                return MethodHandles.lookup().findConstructor(type, MethodType.methodType(void.class, Manager.class));
+            }
+            catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    };
+
     /**
      * The manager keeps created instances of arguments here.
      */
     private final List<SimpleArgument> arguments = new ArrayList<>();
-
-
-    private final List<SimpleArgument> namedArgs = new ArrayList<>();
-    private final List<SimpleArgument> unnamedArgs = new ArrayList<>();
-    private int unnamedArgsIndex = 0;
+    /**
+     * The index of the names added to the arguments, so the uniqueness of a name is checked in constant time.
+     */
+    private final NameIndex namedArguments = new NameIndex(arguments);
+    /**
+     * The snapshot the manager is loaded from, its names are looked up in its own hash table, null if the manager is not loaded from a snapshot.
+     */
+    private DeclarationSnapshot snapshot;
     /**
      * There are raw arguments from the parameter of the main function.
      */
-    private final String[] rawArguments;
+    private String[] rawArguments;
+    /**
+     * The source of the raw arguments, null if the raw arguments are in {@link #rawArguments}.
+     */
+    private TokenSource source;
+    /**
+     * The frozen arguments, null if an argument was created since the last freezing.
+     */
+    private Schema schema;
+    /**
+     * The result of the parsing, it is reused after {@link #reset(String[])}.
+     */
+    private ParseResult result;
+    /**
+     * The rendered help, null if an argument changed since the last rendering.
+     */
+    private String help;
+    /**
+     * Discards the frozen schema and the rendered help, a single instance is shared by all arguments and their builders.
+     */
+    private final Runnable declarationsChanged = this::invalidateDeclarations;
+    /**
+     * The tokens of the raw arguments, it is reused after {@link #reset(String[])}.
+     */
+    private TokenStream tokens;
+    /**
+     * Whether tokens starting with {@code @} are replaced by the tokens of the response files.
+     */
+    private boolean responseFiles = false;
+    /**
+     * Whether unique prefixes of the argument names are accepted as the names.
+     */
+    private boolean abbreviations = false;
     /**
-     * Trailing plain arguments at the end of the command line arguments (if not defined in argument list).
+     * The receiver of the measurements of the parsing, null if the parsing is not measured.
      */
-    private final List<String> trailingArguments = new ArrayList<>();
+    private ParseListener listener;
     private boolean argumentsParsed = false;
-    private int parsedArgumentsCount = 0;
 
 
     /**
@@ -43,15 +99,138 @@ public final class Manager {
 
 
     /**
-     * Returns number of parsed arguments.
-     * @return number of parsed arguments
+     * Creates a manager, which parses the arguments as they are supplied by the source.
+     * @param source source of the arguments from the command line
+     * @return a new manager
+     */
+    public static Manager fromSource(TokenSource source) {
+        Manager manager = new Manager(new String[0]);
+        manager.resetSource(source);
+        return manager;
+    }
+
+
+    /**
+     * Clears the results of the previous parsing and replaces the raw arguments, so the defined arguments can be reused.
+     * @param arguments new arguments from the command line
+     */
+    public void reset(String[] arguments) {
+        if (arguments == null) {
+            throw new IllegalArgumentException("Arguments cannot be null!");
+        }
+        rawArguments = arguments;
+        source = null;
+        clearResult();
+    }
+
+
+    /**
+     * Clears the results of the previous parsing and replaces the source of the raw arguments, so the defined arguments can be reused.
+     * @param source new source of the arguments from the command line
+     */
+    public void resetSource(TokenSource source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source cannot be null!");
+        }
+        rawArguments = null;
+        this.source = source;
+        clearResult();
+    }
+
+
+    /**
+     * Forgets the result of the previous parsing.
+     */
+    private void clearResult() {
+        if (result != null) {
+            result.clear();
+        }
+        argumentsParsed = false;
+    }
+
+
+    /**
+     * Freezes the defined arguments into an immutable schema, which can parse command lines from many threads at once.
+     * Arguments created later are not a part of the returned schema.
+     * @return schema of the defined arguments
+     */
+    public Schema freeze() {
+        if (schema == null) {
+            schema = new Schema(arguments, responseFiles, abbreviations, listener);
+            result = null;
+        }
+        return schema;
+    }
+
+
+    /**
+     * Replaces each raw argument starting with {@code @} by the arguments from the file with the name after {@code @}.
+     * The arguments in the file are separated by whitespace and they can be quoted. The file can be compressed by gzip.
+     * @return this instance
+     */
+    public Manager enableResponseFiles() {
+        responseFiles = true;
+        schema = null;
+        return this;
+    }
+
+
+    /**
+     * Accepts unique prefixes of the argument names, e.g. {@code --port} for {@code --portability}.
+     * A whole name always wins over a prefix of a longer name, and a prefix shared by several arguments is reported as ambiguous.
+     * @return this instance
+     */
+    public Manager allowAbbreviations() {
+        abbreviations = true;
+        schema = null;
+        return this;
+    }
+
+
+    /**
+     * Sets the receiver of the measurements of the parsing. The parsing is not measured without a listener.
+     * @param listener receiver of the measurements, e.g. {@link ParseMetrics}, or null to stop measuring
+     * @return this instance
+     */
+    public Manager setParseListener(ParseListener listener) {
+        this.listener = listener;
+        schema = null;
+        return this;
+    }
+
+
+    /**
+     * Returns the result of the parsing of the raw arguments.
+     * @return result of the parsing
      * @throws ArgumentException If parsing fails.
      */
-    public int getParsedArgumentsCount() throws ArgumentException {
+    public ParseResult getParseResult() throws ArgumentException {
         if (!argumentsParsed) {
             parseArguments();
         }
-        return parsedArgumentsCount;
+        return result;
+    }
+
+
+    /**
+     * Converts and validates all values of the arguments which convert their values lazily.
+     * @throws ArgumentException If parsing fails or a value is not valid.
+     */
+    public void validateAll() throws ArgumentException {
+        ParseResult result = getParseResult();
+        if (!result.validateAll()) {
+            throw new ArgumentException(result.getErrorMessage());
+        }
+    }
+
+
+    /**
+     * Returns number of parsed arguments.
+     * @return number of parsed arguments
+     * @throws ArgumentException If parsing fails.
+     */
+    public int getParsedArgumentsCount() throws ArgumentException {
+        return getParseResult().getParsedArgumentsCount();
     }
 
 
@@ -61,10 +240,7 @@ public final class Manager {
      * @throws ArgumentException If parsing fails.
      */
     public String[] getTrailingArguments() throws ArgumentException {
-        if (!argumentsParsed) {
-            parseArguments();
-        }
-        return trailingArguments.toArray(new String[0]);
+        return getParseResult().getTrailingArguments();
     }
 
 
@@ -78,22 +254,72 @@ public final class Manager {
 
 
     /**
-     * Generates a documentation of the specified arguments.
+     * Generates a documentation of the specified arguments. The documentation is rendered once and cached.
      * @return helpful documentation of the arguments
      */
     public String getHelp() {
-        StringBuilder help = new StringBuilder();
+        if (help == null) {
+            StringBuilder builder = new StringBuilder();
+            try {
+                renderHelp(builder);
+            }
+            catch (IOException e) {
+                // StringBuilder never throws
+                throw new UncheckedIOException(e);
+            }
+            help = builder.toString();
+        }
+        return help;
+    }
+
+
+    /**
+     * Writes a documentation of the specified arguments without creating an intermediate string.
+     * @param out destination of the documentation
+     * @throws IOException If writing fails.
+     */
+    public void writeHelp(Appendable out) throws IOException {
+        if (help != null) {
+            out.append(help);
+        }
+        else {
+            renderHelp(out);
+        }
+    }
+
+
+    /**
+     * Discards the frozen schema and the cached documentation. The builders and the arguments call it
+     * when a name, a description or the configuration of an argument changes.
+     */
+    private void invalidateDeclarations() {
+        schema = null;
+        help = null;
+    }
+
+
+    /**
+     * Renders a documentation of the specified arguments.
+     * @param out destination of the documentation
+     */
+    private void renderHelp(Appendable out) throws IOException {
         for (SimpleArgument arg : arguments) {
-            help.append("Argument names: ").append(arg.names).append("\n");
-            help.append("Description:    ").append(arg.getArgumentHelp()).append("\n");
-            help.append("\n");
+            out.append("Argument names: [");
+            for (int i = 0; i < arg.names.size(); i++) {
+                if (i > 0) {
+                    out.append(", ");
+                }
+                out.append(arg.names.get(i));
+            }
+            out.append("]\n");
+            out.append("Description:    ").append(arg.getArgumentHelp()).append("\n");
+            out.append("\n");
         }
-        return help.toString();
     }
 
 
     /**
-     * This function parses program arguments and stores results in argument instances. Only single parsing is allowed. It can be called by other functions.
+     * This function parses program arguments and stores results in argument instances. Only single parsing is allowed until {@link #reset(String[])} is called. It can be called by other functions.
      * @throws ArgumentException If parsing has already been performed.
      */
     public void parseArguments() throws ArgumentException {
@@ -101,181 +327,305 @@ public final class Manager {
             throw new ArgumentException("Only single parsing is allowed!");
         }
 
-        sortArguments();
-        int index = 0;
-
-        while (index < rawArguments.length) {
-            if (rawArguments[index].equals("--")) {
-                parsePlainArguments(++index);
-                break;
-            }
-            String argValue = rawArguments[index];
-            index = parseArgument(argValue, index);
+        Schema schema = prepareResult();
+        if (!schema.parseInto(prepareTokens(schema), result)) {
+            throw new ArgumentException(result.getErrorMessage());
         }
 
         argumentsParsed = true;
-        checkRequiredArguments();
+        if (!result.isSuccessful()) {
+            throw new ArgumentException(result.getErrorMessage());
+        }
     }
 
 
     /**
-     * This function parses plain arguments after "--" delimiter.
-     * @param index The index of the argument in the {@link #rawArguments}
+     * Parses program arguments like {@link #parseArguments()}, but it does not throw on invalid arguments.
+     * The result describes the failure instead, and the result is reused after {@link #reset(String[])}.
+     * @return result of the parsing
+     * @throws IllegalStateException If parsing has already been performed.
      */
-    private void parsePlainArguments(int index) throws ArgumentException {
-        while (index < rawArguments.length) {
-            parseUnnamedArg(rawArguments[index++]);
+    public ParseResult tryParseArguments() {
+        if (argumentsParsed) {
+            throw new IllegalStateException("Only single parsing is allowed!");
         }
+
+        Schema schema = prepareResult();
+        if (schema.parseInto(prepareTokens(schema), result)) {
+            argumentsParsed = true;
+        }
+        return result;
     }
 
 
     /**
-     * Sort arguments to {@link #unnamedArgs} and {@link #namedArgs}
+     * Prepares the tokens of the raw arguments for parsing.
+     * @param schema schema of the defined arguments
+     * @return tokens of the raw arguments
      */
-    private void sortArguments() {
-        for (SimpleArgument argument : arguments) {
-            if (argument.names.isEmpty()) {
-                unnamedArgs.add(argument);
-            }
-            else {
-                namedArgs.add(argument);
-            }
+    private TokenStream prepareTokens(Schema schema) {
+        if (tokens == null) {
+            tokens = new TokenStream(rawArguments, schema.expandsResponseFiles());
+        }
+        if (source != null) {
+            tokens.reset(source, schema.expandsResponseFiles());
+        }
+        else {
+            tokens.reset(rawArguments, schema.expandsResponseFiles());
         }
+        return tokens;
     }
 
 
     /**
-     * Check that all required arguments are set.
+     * Freezes the arguments and prepares an empty result for parsing.
+     * @return schema of the defined arguments
      */
-    private void checkRequiredArguments() throws ArgumentException {
-        for (SimpleArgument argument : arguments) {
-                checkRequiredArgument(argument);
+    private Schema prepareResult() {
+        Schema schema = freeze();
+        if (result == null) {
+            result = new ParseResult(schema);
         }
+        else {
+            result.clear();
+        }
+        return schema;
     }
 
 
     /**
-     * Check that argument is set if it is required.
-     * @param argument The argument to check
+     * Commences a creation of a new argument.
+     * @param type Runtime representation of the argument type
+     * @param <T> The type of the argument
+     * @return Argument builder for specification of a new argument
+     * @throws ArgumentException If the argument does not have an expected constructor, or the constructor throws an exception.
+     * Errors thrown by the constructor, e.g. {@link StackOverflowError}, are not wrapped and propagate unchanged.
      */
-    private void checkRequiredArgument(SimpleArgument argument) throws ArgumentException {
-        if (argument.isRequired() && !argument.isSet()) {
-            throw new ArgumentException("Required argument " + argument.names + " is not set!");
+    public <T extends SimpleArgument> ArgumentBuilder<T> makeArgument(Class<T> type) throws ArgumentException {
+        MethodHandle constructor = type == null ? null : CONSTRUCTORS.get(type);
+        if (constructor == null) {
+            throw new ArgumentException("Argument constructor malfunction!");
         }
+        T arg;
+        try {
+            arg = type.cast(constructor.invoke(this));
+        }
+        catch (Error e) {
+            throw e;
+        }
+        catch (Throwable e) { // only exceptions remain, the method handle declares Throwable
+            throw new ArgumentException("Argument constructor malfunction!");
+        }
+        return addArgument(arg);
     }
 
 
     /**
-     * Method to parse given argument.
-     * @param argValue The argument to parse
-     * @param index The index of the argument in the {@link #rawArguments}
-     * @return The index of next argument in the {@link #rawArguments}
+     * Commences a creation of a new argument without reflection.
+     * @param factory Creates the argument for this manager, usually a constructor reference like {@code IntegerArgument::new}
+     * @param <T> The type of the argument
+     * @return Argument builder for specification of a new argument
+     * @throws ArgumentException If the factory fails.
      */
-    private int parseArgument(String argValue, int index) throws ArgumentException {
-        if (argValue.startsWith("-")) {
-            SimpleArgument argument = findArgument(argValue);
-            index = parseNamedArg(argument, index);
+    public <T extends SimpleArgument> ArgumentBuilder<T> makeArgument(Function<Manager, T> factory) throws ArgumentException {
+        if (factory == null) {
+            throw new IllegalArgumentException("Factory cannot be null!");
         }
-        else {
-            parseUnnamedArg(argValue);
+        T arg;
+        try {
+            arg = factory.apply(this);
+        }
+        catch (RuntimeException e) {
+            throw new ArgumentException("Argument constructor malfunction!");
+        }
+        if (arg == null) {
+            throw new ArgumentException("Argument constructor malfunction!");
         }
-        return ++index;
+        return addArgument(arg);
     }
 
 
     /**
-     * Parse unnamed arguments
-     * @param argValue The argument value
+     * Keeps the new argument and starts its specification.
+     * @param arg the new argument
+     * @param <T> The type of the argument
+     * @return Argument builder for specification of the argument
      */
-    private void parseUnnamedArg(String argValue) throws ArgumentException {
-        if (unnamedArgsIndex < unnamedArgs.size()) {
-            unnamedArgs.get(unnamedArgsIndex++).setValue(argValue);
-        }
-        else {
-            trailingArguments.add(argValue);
+    private <T extends SimpleArgument> ArgumentBuilder<T> addArgument(T arg) {
+        arguments.add(arg);
+        arg.names = new IndexedNames(arg, arg.names);
+        for (String name : arg.names) {
+            if (name != null) {
+                namedArguments.add(arg, name);
+            }
         }
-        parsedArgumentsCount++;
+        invalidateDeclarations();
+        return new ArgumentBuilder<>(arg, declarationsChanged);
     }
 
 
     /**
-     * parse named argument
-     * @param argument The argument to parse
-     * @param index The index of the argument in the {@link #rawArguments}
-     * @return The index of next argument in the {@link #rawArguments}
+     * Checks if a name is not already defined. The names added to {@link SimpleArgument#names} of the arguments,
+     * directly or through {@link ArgumentBuilder#addName(String)}, and the names loaded from a snapshot are indexed,
+     * so the check takes constant time.
+     * @param name potential name to be tested
+     * @return false if the name is already used, true otherwise
      */
-    private int parseNamedArg(SimpleArgument argument, int index) throws ArgumentException {
-        if (!argument.expectsParameters()) {
-            argument.setValue(null);
-        }
-        else {
-            checkParameterIsPresent(index);
-            argument.setValue(rawArguments[++index]);
-        }
+    public boolean isNameUnique(String name) {
+        return findNamed(name) == null;
+    }
+
 
-        parsedArgumentsCount++;
-        return index;
+    /**
+     * Finds the argument with the name among the indexed and the loaded names.
+     * @param name name of the argument
+     * @return the argument, null if no argument has the name
+     */
+    private SimpleArgument findNamed(String name) {
+        SimpleArgument owner = namedArguments.find(name);
+        if (owner != null) {
+            return owner;
+        }
+        int index = snapshot == null ? -1 : snapshot.indexOf(name);
+        return index < 0 ? null : snapshot.getArguments().get(index);
     }
 
 
     /**
-     * Check that the parameter for paramsArgument is present
-     * @param index The index of the argument in the {@link #rawArguments}
-     * @throws ArgumentException If the parameter is not present
+     * Indexes a name added to an argument and discards the frozen schema and the documentation.
+     * @param argument the argument of this manager
+     * @param name the added name
      */
-    private void checkParameterIsPresent(int index) throws ArgumentException {
-        if (index + 1 >= rawArguments.length) {
-            throw new ArgumentException("Argument " + rawArguments[index] + " expects a parameter!");
+    private void nameAdded(SimpleArgument argument, String name) {
+        if (name != null) {
+            namedArguments.add(argument, name);
         }
+        invalidateDeclarations();
     }
 
 
     /**
-     * Find argument by name
-     * @param argName The name of the argument
-     * @return {@link SimpleArgument}
-     * @throws ArgumentException If the argument is not found
+     * The names of an argument of this manager. The list replaces the list created by the argument,
+     * so a name added to {@link SimpleArgument#names} in any way is indexed for {@link #isNameUnique(String)}.
+     * The removed names stay in the index until it grows, the index checks the current names of the found argument.
      */
-    private SimpleArgument findArgument(String argName) throws ArgumentException {
-        String searchedName = argName.replaceFirst("^-{0,2}", "");
-        for (SimpleArgument argument : namedArgs) {
-            if (argument.names.contains(searchedName)) {
-                return argument;
+    private final class IndexedNames extends AbstractList<String> implements RandomAccess {
+        private final SimpleArgument argument;
+        private String[] elements;
+        private int size;
+
+        IndexedNames(SimpleArgument argument, List<String> names) {
+            this.argument = argument;
+            this.size = names.size();
+            this.elements = names.toArray(new String[Math.max(size, 1)]);
+        }
+
+        @Override
+        public String get(int index) {
+            return elements[Objects.checkIndex(index, size)];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String set(int index, String name) {
+            String previous = elements[Objects.checkIndex(index, size)];
+            elements[index] = name;
+            nameAdded(argument, name);
+            return previous;
+        }
+
+        @Override
+        public void add(int index, String name) {
+            Objects.checkIndex(index, size + 1);
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size * 2);
             }
+            System.arraycopy(elements, index, elements, index + 1, size - index);
+            elements[index] = name;
+            size++;
+            modCount++;
+            nameAdded(argument, name);
+        }
+
+        @Override
+        public String remove(int index) {
+            String previous = elements[Objects.checkIndex(index, size)];
+            System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+            elements[--size] = null;
+            modCount++;
+            invalidateDeclarations();
+            return previous;
         }
-        throw new ArgumentException("Unknown argument name " + argName);
     }
 
 
     /**
-     * Commences a creation of a new argument.
-     * @param type Runtime representation of the argument type
+     * Returns the defined arguments.
+     * @return unmodifiable list of the arguments in the order of their definition
+     */
+    public List<SimpleArgument> getArguments() {
+        return Collections.unmodifiableList(arguments);
+    }
+
+
+    /**
+     * Returns the argument with the given name, e.g. an argument loaded from a snapshot.
+     * @param name name of the argument
+     * @param type expected type of the argument
      * @param <T> The type of the argument
-     * @return Argument builder for specification of a new argument
-     * @throws ArgumentException If the argument does not have an expected constructor.
+     * @return the argument
+     * @throws ArgumentException If there is no argument of the type with the name.
      */
-    public <T extends SimpleArgument> ArgumentBuilder<T> makeArgument(Class<T> type) throws ArgumentException {
-        try {
-            T arg = type.getDeclaredConstructor(Manager.class).newInstance(this);
-            arguments.add(arg);
-            return new ArgumentBuilder<>(arg);
+    public <T extends SimpleArgument> T getArgument(String name, Class<T> type) throws ArgumentException {
+        SimpleArgument argument = findNamed(name);
+        if (argument == null) {
+            throw new ArgumentException("Unknown argument name " + name);
         }
-        catch (Exception e) {
-            throw new ArgumentException("Argument constructor malfunction!");
+        if (!type.isInstance(argument)) {
+            throw new ArgumentException("Argument " + name + " is not " + type.getSimpleName() + "!");
+        }
+        return type.cast(argument);
+    }
+
+
+    /**
+     * Writes the defined arguments to a binary snapshot, which is loaded by {@link #loadSnapshot(Path, String[])}
+     * much faster than the arguments are defined. Validators are not a part of the snapshot.
+     * @param file the snapshot file, it is replaced if it exists
+     * @throws ArgumentException If an argument is not of a built-in type.
+     * @throws IOException If the file cannot be written.
+     */
+    public void exportSnapshot(Path file) throws ArgumentException, IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null!");
         }
+        DeclarationSnapshot.write(arguments, file);
     }
 
+
     /**
-     * Checks if a name is not already defined.
-     * @param name potential name to be tested
-     * @return false if the name is already used, true otherwise
+     * Creates a manager with the arguments from a snapshot written by {@link #exportSnapshot(Path)}.
+     * The names are neither checked nor indexed again, only the version and the checksum of the snapshot are verified.
+     * The arguments are found by {@link #getArgument(String, Class)} and {@link #getArguments()}.
+     * @param file the snapshot file
+     * @param arguments arguments from the command line
+     * @return a new manager
+     * @throws IOException If the file cannot be read, or it is not a valid snapshot.
      */
-    public boolean isNameUnique(String name) {
-        for (SimpleArgument argument : arguments) {
-            if (argument.names.contains(name)) {
-                return false;
-            }
+    public static Manager loadSnapshot(Path file, String[] arguments) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null!");
+        }
+        Manager manager = new Manager(arguments);
+        manager.snapshot = DeclarationSnapshot.read(file, manager, manager.declarationsChanged);
+        for (SimpleArgument argument : manager.snapshot.getArguments()) {
+            argument.names = manager.new IndexedNames(argument, argument.names);
         }
-        return true;
+        manager.arguments.addAll(manager.snapshot.getArguments());
+        return manager;
     }
 }
@@ -0,0 +1,121 @@
+package clap;
+
+import clap.arguments.SimpleArgument;
+
+import java.util.List;
+
+/**
+ * The index of the names of the arguments of a {@link Manager}, it checks the uniqueness of a new name in constant time.
+ * It is an open addressing hash table of the arguments themselves, the names are neither copied nor wrapped in entries,
+ * so it costs two to four references per name instead of a map entry. A probed argument is matched against its current names,
+ * so a name removed from an argument is not found. The table is rebuilt from the names of all arguments when it grows.
+ */
+final class NameIndex {
+    /**
+     * The initial number of the buckets, a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The indexed arguments.
+     */
+    private final List<SimpleArgument> arguments;
+    /**
+     * The hash table of the names, it holds the argument of each name, null is an empty bucket.
+     */
+    private SimpleArgument[] buckets = new SimpleArgument[INITIAL_CAPACITY];
+    /**
+     * The number of the occupied buckets.
+     */
+    private int size;
+
+
+    /**
+     * Creates an empty index, the names of the arguments are indexed when they are added or when the table grows.
+     * @param arguments the live list of the arguments of the manager
+     */
+    NameIndex(List<SimpleArgument> arguments) {
+        this.arguments = arguments;
+    }
+
+
+    /**
+     * Indexes a name which is already added to the argument.
+     * @param argument the argument with the name
+     * @param name the added name
+     */
+    void add(SimpleArgument argument, String name) {
+        if ((size + 1) * 2 > buckets.length) {
+            rebuild();
+        }
+        else {
+            insert(argument, name);
+        }
+    }
+
+
+    /**
+     * Finds the argument by its name.
+     * @param name name of the argument
+     * @return the argument, null if no indexed argument has the name
+     */
+    SimpleArgument find(String name) {
+        int mask = buckets.length - 1;
+        int bucket = hash(name) & mask;
+        SimpleArgument argument;
+        while ((argument = buckets[bucket]) != null) {
+            if (argument.names.contains(name)) {
+                return argument;
+            }
+            bucket = (bucket + 1) & mask;
+        }
+        return null;
+    }
+
+
+    /**
+     * Inserts the name into the hash table.
+     * @param argument the argument with the name
+     * @param name the name
+     */
+    private void insert(SimpleArgument argument, String name) {
+        int mask = buckets.length - 1;
+        int bucket = hash(name) & mask;
+        while (buckets[bucket] != null) {
+            bucket = (bucket + 1) & mask;
+        }
+        buckets[bucket] = argument;
+        size++;
+    }
+
+
+    /**
+     * Indexes the current names of all arguments in a table at most half full.
+     */
+    private void rebuild() {
+        int count = 0;
+        for (SimpleArgument argument : arguments) {
+            count += argument.names.size();
+        }
+        buckets = new SimpleArgument[Math.max(INITIAL_CAPACITY, Integer.highestOneBit(count) << 2)];
+        size = 0;
+        for (SimpleArgument argument : arguments) {
+            for (String name : argument.names) {
+                if (name != null) {
+                    insert(argument, name);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Computes the hash of the name, it spreads the higher bits like {@link java.util.HashMap}.
+     * @param name the name
+     * @return hash of the name
+     */
+    private static int hash(String name) {
+        int hash = name.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+}
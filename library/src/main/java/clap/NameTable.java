@@ -0,0 +1,208 @@
+package clap;
+
+import clap.arguments.SimpleArgument;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The lookup table of the names of the arguments of a {@link Schema}.
+ * All names are copied into a single char arena, and they are indexed by an open addressing hash table of ints,
+ * so the table is a few arrays instead of a map entry and a boxed index per name. It is built in addition to the name lists
+ * of the arguments, which stay alive with the schema.
+ * The names are looked up directly in the arena without creating strings.
+ */
+final class NameTable {
+    /**
+     * The characters of all names one after another.
+     */
+    private final char[] arena;
+    /**
+     * The bounds of the names in {@link #arena}, name {@code i} spans from {@code bounds[i]} to {@code bounds[i + 1]}.
+     */
+    private final int[] bounds;
+    /**
+     * The index of the argument of each name.
+     */
+    private final int[] owners;
+    /**
+     * The first name of each argument, the names of argument {@code slot} span from {@code firstNames[slot]} to {@code firstNames[slot + 1]}.
+     */
+    private final int[] firstNames;
+    /**
+     * The hash table of the names, it holds the index of the name plus one, 0 is an empty bucket.
+     */
+    private final int[] buckets;
+
+
+    /**
+     * Packs the names of the given arguments.
+     * @param arguments the arguments in the order of their slots
+     */
+    NameTable(SimpleArgument[] arguments) {
+        int count = 0;
+        int length = 0;
+        for (SimpleArgument argument : arguments) {
+            for (String name : argument.names) {
+                count++;
+                length += name.length();
+            }
+        }
+        arena = new char[length];
+        bounds = new int[count + 1];
+        owners = new int[count];
+        firstNames = new int[arguments.length + 1];
+        buckets = new int[Integer.highestOneBit(Math.max(count, 1) * 2 - 1) << 1];
+        int name = 0;
+        for (int slot = 0; slot < arguments.length; slot++) {
+            firstNames[slot] = name;
+            for (String value : arguments[slot].names) {
+                value.getChars(0, value.length(), arena, bounds[name]);
+                bounds[name + 1] = bounds[name] + value.length();
+                owners[name] = slot;
+                insert(name++);
+            }
+        }
+        firstNames[arguments.length] = name;
+    }
+
+
+    /**
+     * Inserts the name into the hash table, it replaces an equal name inserted before.
+     * @param name index of the name
+     */
+    private void insert(int name) {
+        int mask = buckets.length - 1;
+        int bucket = hash(arena, bounds[name], bounds[name + 1]) & mask;
+        while (buckets[bucket] != 0 && !equalsName(buckets[bucket] - 1, arena, bounds[name], bounds[name + 1])) {
+            bucket = (bucket + 1) & mask;
+        }
+        buckets[bucket] = name + 1;
+    }
+
+
+    /**
+     * Finds the argument by its name.
+     * @param text text containing the name
+     * @param start index of the first character of the name
+     * @param end index after the last character of the name
+     * @return index of the argument, -1 if there is no argument with the name
+     */
+    int find(CharSequence text, int start, int end) {
+        int mask = buckets.length - 1;
+        int bucket = hash(text, start, end) & mask;
+        int entry;
+        while ((entry = buckets[bucket]) != 0) {
+            if (equalsName(entry - 1, text, start, end)) {
+                return owners[entry - 1];
+            }
+            bucket = (bucket + 1) & mask;
+        }
+        return -1;
+    }
+
+
+    /**
+     * Returns whether the argument has a name.
+     * @param slot index of the argument
+     * @return true if the argument has at least one name, false otherwise
+     */
+    boolean isNamed(int slot) {
+        return firstNames[slot] < firstNames[slot + 1];
+    }
+
+
+    /**
+     * Creates the list of the names of the argument.
+     * @param slot index of the argument
+     * @return names of the argument in the order of their definition
+     */
+    List<String> namesOf(int slot) {
+        String[] names = new String[firstNames[slot + 1] - firstNames[slot]];
+        for (int i = 0; i < names.length; i++) {
+            int name = firstNames[slot] + i;
+            names[i] = new String(arena, bounds[name], bounds[name + 1] - bounds[name]);
+        }
+        return Arrays.asList(names);
+    }
+
+
+    /**
+     * Creates the list of all names.
+     * @return names of all arguments in the order of their definition
+     */
+    List<String> allNames() {
+        String[] names = new String[owners.length];
+        for (int name = 0; name < names.length; name++) {
+            names[name] = new String(arena, bounds[name], bounds[name + 1] - bounds[name]);
+        }
+        return Arrays.asList(names);
+    }
+
+
+    /**
+     * Compares the name with the characters of the text.
+     * @param name index of the name
+     * @param text text containing the other name
+     * @param start index of the first character of the other name
+     * @param end index after the last character of the other name
+     * @return true if the names are equal, false otherwise
+     */
+    private boolean equalsName(int name, CharSequence text, int start, int end) {
+        int offset = bounds[name];
+        if (bounds[name + 1] - offset != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (arena[offset++] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Compares the name with the characters of the array.
+     * @param name index of the name
+     * @param chars array containing the other name
+     * @param start index of the first character of the other name
+     * @param end index after the last character of the other name
+     * @return true if the names are equal, false otherwise
+     */
+    private boolean equalsName(int name, char[] chars, int start, int end) {
+        return Arrays.equals(arena, bounds[name], bounds[name + 1], chars, start, end);
+    }
+
+
+    /**
+     * Computes the hash of the name, it spreads the higher bits like {@link java.util.HashMap}.
+     * @param text text containing the name
+     * @param start index of the first character of the name
+     * @param end index after the last character of the name
+     * @return hash of the name
+     */
+    private static int hash(CharSequence text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+
+    /**
+     * Computes the hash of the name in the array.
+     * @param chars array containing the name
+     * @param start index of the first character of the name
+     * @param end index after the last character of the name
+     * @return hash of the name
+     */
+    private static int hash(char[] chars, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,248 @@
+package clap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps a frozen {@link Schema} resident and parses command lines sent over a Unix domain socket,
+ * so a short-lived command line tool pays neither the startup of the JVM nor the definition of its arguments.
+ * Each successfully parsed command line is dispatched to a {@link CommandHandler}, and the client receives
+ * the parsed values, the output of the handler or the failure, see {@link DaemonProtocol} for the framing.
+ * A client keeps its connection for many command lines, and the connections are served concurrently by an executor.
+ * The command lines come from other processes, so tokens starting with {@code @} are never replaced by the response files
+ * on the side of the daemon. The connections are parsed concurrently, so a schema with custom arguments,
+ * which store their values themselves, is rejected.
+ */
+public final class ParseDaemon implements AutoCloseable {
+    private final Schema schema;
+    private final CommandHandler handler;
+    private final Path socket;
+    private final ExecutorService executor;
+    /**
+     * Whether the executor is created by the daemon and shut down with it.
+     */
+    private final boolean ownsExecutor;
+    /**
+     * The open connections, they are closed with the daemon.
+     */
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocketChannel channel;
+    private Thread acceptor;
+
+
+    /**
+     * Creates a daemon serving each connection by its own daemon thread from a cached pool.
+     * @param schema schema of the command lines
+     * @param handler handler of the parsed command lines, null if the client needs only the parsed values
+     * @param socket path of the socket file
+     * @throws IllegalArgumentException If the schema has custom arguments, see {@link Schema#hasCustomArguments()}.
+     */
+    public ParseDaemon(Schema schema, CommandHandler handler, Path socket) {
+        this(schema, handler, socket, Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "clap-parse-daemon-connection");
+            thread.setDaemon(true);
+            return thread;
+        }), true);
+    }
+
+
+    /**
+     * Creates a daemon serving the connections by the given executor, e.g. by virtual threads on a runtime supporting them.
+     * The executor is not shut down by the daemon.
+     * @param schema schema of the command lines
+     * @param handler handler of the parsed command lines, null if the client needs only the parsed values
+     * @param socket path of the socket file
+     * @param executor executor serving the connections
+     * @throws IllegalArgumentException If the schema has custom arguments, see {@link Schema#hasCustomArguments()}.
+     */
+    public ParseDaemon(Schema schema, CommandHandler handler, Path socket, ExecutorService executor) {
+        this(schema, handler, socket, executor, false);
+    }
+
+
+    private ParseDaemon(Schema schema, CommandHandler handler, Path socket, ExecutorService executor, boolean ownsExecutor) {
+        if (schema == null || socket == null || executor == null) {
+            throw new IllegalArgumentException("Schema, socket and executor cannot be null!");
+        }
+        if (schema.hasCustomArguments()) {
+            throw new IllegalArgumentException("Schema with custom arguments cannot parse command lines concurrently!");
+        }
+        this.schema = schema;
+        this.handler = handler;
+        this.socket = socket;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+
+    /**
+     * Binds the socket and accepts the connections in a daemon thread. A stale socket file left by a previous daemon is replaced,
+     * but neither another file nor the socket of a running daemon is.
+     * @return this instance
+     * @throws IOException If the socket cannot be bound, e.g. because the address is in use.
+     */
+    public synchronized ParseDaemon start() throws IOException {
+        if (channel != null) {
+            throw new IllegalStateException("The daemon is already started!");
+        }
+        channel = UnixSockets.bind(socket);
+        acceptor = new Thread(this::acceptConnections, "clap-parse-daemon");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return this;
+    }
+
+
+    /**
+     * Returns the path of the socket file.
+     * @return path of the socket file
+     */
+    public Path getSocket() {
+        return socket;
+    }
+
+
+    /**
+     * Hands each accepted connection to the executor until the daemon is closed.
+     */
+    private void acceptConnections() {
+        while (true) {
+            SocketChannel connection;
+            try {
+                connection = channel.accept();
+            }
+            catch (ClosedChannelException e) {
+                return;
+            }
+            catch (IOException e) {
+                if (UnixSockets.backOff(channel)) {
+                    continue;
+                }
+                return;
+            }
+            connections.add(connection);
+            try {
+                executor.execute(() -> serve(connection));
+            }
+            catch (RuntimeException e) {
+                connections.remove(connection);
+                try {
+                    connection.close();
+                }
+                catch (IOException ignored) {
+                    // the connection is dropped anyway
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Answers the requests of the connection until the client closes it.
+     * @param connection connection of the client
+     */
+    private void serve(SocketChannel connection) {
+        try (connection) {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(connection)));
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(connection)));
+            ByteArrayOutputStream reply = new ByteArrayOutputStream();
+            byte[] request;
+            while ((request = DaemonProtocol.readFrame(input)) != null) {
+                reply.reset();
+                answer(DaemonProtocol.readStrings(new DataInputStream(new ByteArrayInputStream(request))), new DataOutputStream(reply));
+                DaemonProtocol.writeFrame(output, reply.toByteArray(), reply.size());
+            }
+        }
+        catch (IOException e) {
+            // a broken connection affects only its own client
+        }
+        finally {
+            connections.remove(connection);
+        }
+    }
+
+
+    /**
+     * Parses the command line, runs the handler and writes the reply.
+     * @param arguments arguments from the command line
+     * @param reply the payload of the reply
+     * @throws IOException If the reply cannot be written.
+     */
+    private void answer(String[] arguments, DataOutputStream reply) throws IOException {
+        ParseResult result = schema.tryParseWithoutResponseFiles(arguments);
+        if (!result.isSuccessful() || !result.validateAll()) {
+            reply.writeByte(DaemonProtocol.PARSE_FAILED);
+            reply.writeInt(result.getError().ordinal());
+            reply.writeInt(result.getErrorIndex());
+            DaemonProtocol.writeString(reply, result.getErrorMessage());
+            return;
+        }
+
+        String output;
+        try {
+            output = handler == null ? null : handler.handle(result);
+        }
+        catch (Exception e) {
+            reply.writeByte(DaemonProtocol.HANDLER_FAILED);
+            DaemonProtocol.writeString(reply, String.valueOf(e.getMessage()));
+            return;
+        }
+        reply.writeByte(DaemonProtocol.PARSED);
+        int setCount = 0;
+        for (int slot = 0; slot < schema.getArgumentsCount(); slot++) {
+            if (result.isSet(slot)) {
+                setCount++;
+            }
+        }
+        reply.writeInt(setCount);
+        for (int slot = 0; slot < schema.getArgumentsCount(); slot++) {
+            if (result.isSet(slot)) {
+                reply.writeInt(slot);
+                DaemonProtocol.writeStrings(reply, result.formatValues(slot));
+            }
+        }
+        DaemonProtocol.writeStrings(reply, result.getTrailingArguments());
+        DaemonProtocol.writeString(reply, output == null ? "" : output);
+    }
+
+
+    /**
+     * Stops accepting connections, closes the open ones and deletes the socket file.
+     * @throws IOException If the socket cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        channel.close();
+        try {
+            acceptor.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SocketChannel connection : connections) {
+            connection.close();
+        }
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+        channel = null;
+        UnixSockets.unlink(socket);
+    }
+}
@@ -0,0 +1,116 @@
+package clap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends command lines to a {@link ParseDaemon} over a single connection.
+ * The requests of a client are sent one after another, a client per thread sends them concurrently.
+ */
+public final class ParseDaemonClient implements AutoCloseable {
+    private static final ParseError[] ERRORS = ParseError.values();
+
+    private final SocketChannel channel;
+    private final DataInputStream input;
+    private final DataOutputStream output;
+    private final ByteArrayOutputStream request = new ByteArrayOutputStream();
+
+
+    /**
+     * Connects to the daemon.
+     * @param socket path of the socket file of the daemon
+     * @throws IOException If the daemon cannot be reached.
+     */
+    public ParseDaemonClient(Path socket) throws IOException {
+        if (socket == null) {
+            throw new IllegalArgumentException("Socket cannot be null!");
+        }
+        channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+        }
+        catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+    }
+
+
+    /**
+     * Sends the command line and waits for the reply.
+     * @param arguments arguments from the command line
+     * @return reply of the daemon
+     * @throws IOException If the daemon cannot be reached or the reply is malformed.
+     */
+    public synchronized DaemonReply parse(String[] arguments) throws IOException {
+        if (arguments == null) {
+            throw new IllegalArgumentException("Arguments cannot be null!");
+        }
+        request.reset();
+        DaemonProtocol.writeStrings(new DataOutputStream(request), arguments);
+        DaemonProtocol.writeFrame(output, request.toByteArray(), request.size());
+        byte[] payload = DaemonProtocol.readFrame(input);
+        if (payload == null) {
+            throw new EOFException("The daemon closed the connection!");
+        }
+        return readReply(new DataInputStream(new ByteArrayInputStream(payload)));
+    }
+
+
+    /**
+     * Decodes the payload of a reply.
+     * @param reply the payload
+     * @return the reply
+     * @throws IOException If the reply is malformed.
+     */
+    private static DaemonReply readReply(DataInputStream reply) throws IOException {
+        byte status = reply.readByte();
+        if (status == DaemonProtocol.PARSE_FAILED) {
+            int error = reply.readInt();
+            if (error < 0 || error >= ERRORS.length) {
+                throw new IOException("Unknown parse error " + error);
+            }
+            int errorIndex = reply.readInt();
+            return new DaemonReply(ERRORS[error], errorIndex, DaemonProtocol.readString(reply), Map.of(), new String[0], "");
+        }
+        if (status == DaemonProtocol.HANDLER_FAILED) {
+            return new DaemonReply(null, -1, DaemonProtocol.readString(reply), Map.of(), new String[0], "");
+        }
+        if (status != DaemonProtocol.PARSED) {
+            throw new IOException("Unknown reply status " + status);
+        }
+        int setCount = reply.readInt();
+        Map<Integer, String[]> values = new HashMap<>();
+        for (int i = 0; i < setCount; i++) {
+            int slot = reply.readInt();
+            values.put(slot, DaemonProtocol.readStrings(reply));
+        }
+        String[] trailingArguments = DaemonProtocol.readStrings(reply);
+        return new DaemonReply(null, -1, null, values, trailingArguments, DaemonProtocol.readString(reply));
+    }
+
+
+    /**
+     * Closes the connection.
+     * @throws IOException If the connection cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
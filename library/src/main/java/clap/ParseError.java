@@ -0,0 +1,39 @@
+package clap;
+
+/**
+ * The kinds of failures of the parsing.
+ */
+public enum ParseError {
+    /**
+     * A token starting with a dash does not match any argument name.
+     */
+    UNKNOWN_ARGUMENT,
+    /**
+     * A token starting with a dash is a prefix of the names of several arguments.
+     */
+    AMBIGUOUS_ARGUMENT,
+    /**
+     * An argument expecting a parameter is the last token.
+     */
+    MISSING_PARAMETER,
+    /**
+     * A value cannot be converted to the type of the argument, or a custom argument rejects it in its {@code setValue}.
+     */
+    MALFORMED_VALUE,
+    /**
+     * A value is rejected by the validator of the argument.
+     */
+    VALIDATION_FAILED,
+    /**
+     * A required argument is not set.
+     */
+    MISSING_REQUIRED_ARGUMENT,
+    /**
+     * A response file cannot be opened or read.
+     */
+    RESPONSE_FILE_UNREADABLE,
+    /**
+     * The source of the command line arguments cannot be read.
+     */
+    SOURCE_UNREADABLE
+}
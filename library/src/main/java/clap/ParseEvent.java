@@ -0,0 +1,27 @@
+package clap;
+
+import jdk.jfr.*;
+
+/**
+ * The Flight Recorder event of the parsing of a command line. It is disabled by default,
+ * and it can be enabled in the recording settings by its name {@code clap.Parse}.
+ */
+@Name("clap.Parse")
+@Label("Command Line Parsing")
+@Category("Command Line Argument Parser")
+@Description("Parsing of a command line by a schema")
+@Enabled(false)
+@StackTrace(false)
+final class ParseEvent extends Event {
+    @Label("Tokens")
+    @Description("Number of the parsed tokens")
+    int tokens;
+
+    @Label("Arguments")
+    @Description("Number of the defined arguments")
+    int arguments;
+
+    @Label("Outcome")
+    @Description("SUCCESS or the kind of the failure")
+    String outcome;
+}
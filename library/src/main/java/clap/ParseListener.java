@@ -0,0 +1,23 @@
+package clap;
+
+/**
+ * Receives the measurements of the parsing. A listener is set by {@link Manager#setParseListener(ParseListener)},
+ * and it is called by all threads which parse with the schema, so it must be thread-safe.
+ * No measurement is taken if there is no listener.
+ */
+public interface ParseListener {
+    /**
+     * Called when a phase of the parsing finishes.
+     * @param phase the finished phase
+     * @param nanos duration of the phase in nanoseconds
+     */
+    void phaseFinished(ParsePhase phase, long nanos);
+
+    /**
+     * Called when the parsing of a command line finishes.
+     * @param tokens number of the parsed tokens
+     * @param error the kind of the failure, null if parsing succeeds
+     * @param nanos duration of the parsing in nanoseconds
+     */
+    void parseFinished(int tokens, ParseError error, long nanos);
+}
@@ -0,0 +1,182 @@
+package clap;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the measurements of the parsing, so they can be exposed as an MXBean and graphed.
+ */
+public final class ParseMetrics implements ParseListener, ParseMetricsMXBean {
+    private static final ParsePhase[] PHASES = ParsePhase.values();
+    private static final ParseError[] ERRORS = ParseError.values();
+
+    private final LongAdder parses = new LongAdder();
+    private final LongAdder failedParses = new LongAdder();
+    private final LongAdder tokens = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    /**
+     * The total duration of each phase, indexed by the ordinal of the phase.
+     */
+    private final LongAdder[] phaseNanos = newAdders(PHASES.length);
+    /**
+     * The number of the occurrences of each phase, indexed by the ordinal of the phase.
+     */
+    private final LongAdder[] phaseCounts = newAdders(PHASES.length);
+    /**
+     * The number of the failures of each kind, indexed by the ordinal of the kind.
+     */
+    private final LongAdder[] failures = newAdders(ERRORS.length);
+
+
+    /**
+     * Creates the counters.
+     * @param count number of the counters
+     * @return the counters
+     */
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+
+    /**
+     * Registers the metrics in the platform MBean server.
+     * @param name the name of the metrics, e.g. the name of the program
+     * @return the name of the registered MBean
+     * @throws JMException If the MBean cannot be registered.
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("clap:type=ParseMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void phaseFinished(ParsePhase phase, long nanos) {
+        phaseNanos[phase.ordinal()].add(nanos);
+        phaseCounts[phase.ordinal()].increment();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void parseFinished(int tokens, ParseError error, long nanos) {
+        parses.increment();
+        this.tokens.add(tokens);
+        parseNanos.add(nanos);
+        if (error != null) {
+            failedParses.increment();
+            failures[error.ordinal()].increment();
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getParses() {
+        return parses.sum();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getFailedParses() {
+        return failedParses.sum();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getTokens() {
+        return tokens.sum();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getParseNanos() {
+        return parseNanos.sum();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getPhaseNanos() {
+        return sums(PHASES, phaseNanos);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getPhaseCounts() {
+        return sums(PHASES, phaseCounts);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getFailures() {
+        return sums(ERRORS, failures);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        parses.reset();
+        failedParses.reset();
+        tokens.reset();
+        parseNanos.reset();
+        for (int i = 0; i < PHASES.length; i++) {
+            phaseNanos[i].reset();
+            phaseCounts[i].reset();
+        }
+        for (LongAdder failure : failures) {
+            failure.reset();
+        }
+    }
+
+
+    /**
+     * Sums the counters by the names of the constants.
+     * @param constants the constants indexing the counters
+     * @param adders the counters
+     * @return sums of the counters in the order of the constants
+     */
+    private static Map<String, Long> sums(Enum<?>[] constants, LongAdder[] adders) {
+        Map<String, Long> sums = new LinkedHashMap<>();
+        for (int i = 0; i < constants.length; i++) {
+            sums.put(constants[i].name(), adders[i].sum());
+        }
+        return sums;
+    }
+}
@@ -0,0 +1,55 @@
+package clap;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link ParseMetrics}.
+ */
+public interface ParseMetricsMXBean {
+    /**
+     * Returns the number of the parsed command lines.
+     * @return number of the parsed command lines
+     */
+    long getParses();
+
+    /**
+     * Returns the number of the command lines which failed to parse.
+     * @return number of the failures
+     */
+    long getFailedParses();
+
+    /**
+     * Returns the number of the parsed tokens of all command lines.
+     * @return number of the tokens
+     */
+    long getTokens();
+
+    /**
+     * Returns the total duration of the parsing of all command lines.
+     * @return duration in nanoseconds
+     */
+    long getParseNanos();
+
+    /**
+     * Returns the total duration of each phase by the name of the phase.
+     * @return durations in nanoseconds
+     */
+    Map<String, Long> getPhaseNanos();
+
+    /**
+     * Returns the number of the occurrences of each phase by the name of the phase.
+     * @return numbers of the occurrences
+     */
+    Map<String, Long> getPhaseCounts();
+
+    /**
+     * Returns the number of the failures of each kind by the name of the kind.
+     * @return numbers of the failures
+     */
+    Map<String, Long> getFailures();
+
+    /**
+     * Forgets all measurements.
+     */
+    void reset();
+}
@@ -0,0 +1,31 @@
+package clap;
+
+/**
+ * The phases of the parsing measured by a {@link ParseListener}.
+ */
+public enum ParsePhase {
+    /**
+     * The sorting of the arguments to named and unnamed ones when the schema is created.
+     */
+    SORT_ARGUMENTS,
+    /**
+     * The loop over all tokens of the command line, it includes the lookups, the conversions and the validations.
+     */
+    TOKEN_LOOP,
+    /**
+     * A lookup of an argument by a name from the command line.
+     */
+    FIND_ARGUMENT,
+    /**
+     * A conversion of a raw value to the values of an argument.
+     */
+    CONVERSION,
+    /**
+     * A validation of the values of an argument.
+     */
+    VALIDATION,
+    /**
+     * The check that all required arguments are set.
+     */
+    CHECK_REQUIRED_ARGUMENTS
+}
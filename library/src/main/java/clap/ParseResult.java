@@ -0,0 +1,506 @@
+package clap;
+
+import clap.arguments.*;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The values of a single parsing of the command line arguments by a {@link Schema}.
+ * The values of arguments which convert their values lazily are converted on the first access,
+ * so such a result must not be accessed from more threads at once. Accessing an invalid value throws {@link IllegalStateException},
+ * methods {@link #validate(SimpleArgument)} and {@link #validateAll()} report invalid values without throwing.
+ */
+public final class ParseResult {
+    /**
+     * The schema which produced this result.
+     */
+    private final Schema schema;
+    /**
+     * The converted values of each argument of the schema, or {@link LazyValues} of the arguments which convert their values lazily.
+     */
+    private final Object[] values;
+    /**
+     * The flags whether each argument of the schema is set.
+     */
+    private final boolean[] argIsSet;
+    /**
+     * Trailing plain arguments at the end of the command line arguments (if not defined in argument list).
+     */
+    final List<String> trailingArguments = new ArrayList<>();
+    /**
+     * The index of the next unnamed argument to be set.
+     */
+    int unnamedArgsIndex = 0;
+    int parsedArgumentsCount = 0;
+    /**
+     * The kind of the failure, null if parsing succeeds.
+     */
+    private ParseError error;
+    /**
+     * The index of the offending token, -1 if there is none.
+     */
+    private int errorIndex = -1;
+    /**
+     * The offending token, null if there is none.
+     */
+    private String errorToken;
+    /**
+     * The index of the offending argument in the schema, -1 if there is none.
+     */
+    private int errorSlot = -1;
+    /**
+     * The bounds of the elements of the offending value, null if no value fails.
+     */
+    private int[] errorBounds;
+    /**
+     * The converted values of the offending value, null if no value fails.
+     */
+    private Object errorValues;
+    /**
+     * The index of the offending element of the value, -1 if no value fails.
+     */
+    private int errorElement = -1;
+    /**
+     * The description of the failure, it is built on the first request.
+     */
+    private String errorMessage;
+
+
+    /**
+     * Creates an empty result for the schema.
+     * @param schema the schema which produces this result
+     */
+    ParseResult(Schema schema) {
+        this.schema = schema;
+        values = new Object[schema.getArgumentsCount()];
+        argIsSet = new boolean[schema.getArgumentsCount()];
+    }
+
+
+    /**
+     * Forgets all values, so the result can be reused for another parsing.
+     */
+    void clear() {
+        Arrays.fill(values, null);
+        Arrays.fill(argIsSet, false);
+        trailingArguments.clear();
+        unnamedArgsIndex = 0;
+        parsedArgumentsCount = 0;
+        error = null;
+        errorIndex = -1;
+        errorToken = null;
+        errorSlot = -1;
+        errorBounds = null;
+        errorValues = null;
+        errorElement = -1;
+        errorMessage = null;
+    }
+
+
+    /**
+     * Records the failure of the parsing.
+     * @param error the kind of the failure
+     * @param index the index of the offending token, -1 if there is none
+     * @param token the offending token, null if there is none
+     * @param slot the index of the offending argument in the schema, -1 if there is none
+     */
+    void fail(ParseError error, int index, String token, int slot) {
+        fail(error, index, token, slot, null);
+    }
+
+
+    /**
+     * Records the failure of the parsing with its description.
+     * @param error the kind of the failure
+     * @param index the index of the offending token, -1 if there is none
+     * @param token the offending token, null if there is none
+     * @param slot the index of the offending argument in the schema, -1 if there is none
+     * @param message description of the failure, null if it is built on the first request
+     */
+    void fail(ParseError error, int index, String token, int slot, String message) {
+        fail(error, index, token, slot, null, null, -1);
+        errorMessage = message;
+    }
+
+
+    /**
+     * Records the failure of a value with its offending element, so the description is built without converting
+     * or validating the value again.
+     * @param error the kind of the failure
+     * @param index the index of the offending token
+     * @param token the offending raw value
+     * @param slot the index of the offending argument in the schema
+     * @param bounds bounds of the elements of the raw value
+     * @param values the converted values
+     * @param element index of the offending element
+     */
+    void fail(ParseError error, int index, String token, int slot, int[] bounds, Object values, int element) {
+        this.error = error;
+        errorIndex = index;
+        errorToken = token;
+        errorSlot = slot;
+        errorBounds = bounds;
+        errorValues = values;
+        errorElement = element;
+        errorMessage = null;
+    }
+
+
+    /**
+     * Returns whether the parsing succeeds. Values of a failed parsing are incomplete.
+     * @return true if the parsing succeeds, false otherwise
+     */
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+
+    /**
+     * Returns the kind of the failure.
+     * @return the kind of the failure, null if the parsing succeeds
+     */
+    public ParseError getError() {
+        return error;
+    }
+
+
+    /**
+     * Returns the index of the command line argument which causes the failure.
+     * @return index of the offending argument, -1 if the parsing succeeds or no argument is at fault
+     */
+    public int getErrorIndex() {
+        return errorIndex;
+    }
+
+
+    /**
+     * Returns the human-readable description of the failure, it is built on the first request.
+     * @return description of the failure, null if the parsing succeeds
+     */
+    public String getErrorMessage() {
+        if (error != null && errorMessage == null) {
+            errorMessage = schema.describeFailure(error, errorToken, errorSlot, errorBounds, errorValues, errorElement);
+        }
+        return errorMessage;
+    }
+
+
+    /**
+     * Stores the values of the argument.
+     * @param slot index of the argument in the schema
+     * @param value converted values, null if the argument does not expect parameters
+     */
+    void setValue(int slot, Object value) {
+        values[slot] = value;
+        argIsSet[slot] = true;
+    }
+
+
+    /**
+     * Returns whether the argument on the index of the schema is set.
+     * @param slot index of the argument in the schema
+     * @return true if the argument is set, false otherwise
+     */
+    boolean isSet(int slot) {
+        return argIsSet[slot];
+    }
+
+
+    /**
+     * Formats the values of the argument on the index of the schema, the lazily converted values must be validated before.
+     * @param slot index of the argument in the schema
+     * @return the values formatted by {@link String#valueOf(Object)}, an empty array if the argument has no values
+     */
+    String[] formatValues(int slot) {
+        Object array = values[slot] instanceof LazyValues ? ((LazyValues) values[slot]).values() : values[slot];
+        if (array == null) {
+            return new String[0];
+        }
+        String[] formatted = new String[Array.getLength(array)];
+        for (int i = 0; i < formatted.length; i++) {
+            formatted[i] = String.valueOf(Array.get(array, i));
+        }
+        return formatted;
+    }
+
+
+    /**
+     * Returns whether the argument is set.
+     * @param argument the argument of the schema
+     * @return true if the argument is set, false otherwise
+     */
+    public boolean isSet(SimpleArgument argument) {
+        return argIsSet[schema.slotOf(argument)];
+    }
+
+
+    /**
+     * Get the number of the values of the argument.
+     * @param argument the argument of the schema
+     * @return number of the values
+     */
+    public int getNumberOfValues(SimpleArgument argument) {
+        Object value = values[schema.slotOf(argument)];
+        if (value instanceof LazyValues) {
+            return ((LazyValues) value).count();
+        }
+        return value == null ? 0 : Array.getLength(value);
+    }
+
+
+    /**
+     * Converts the value of the argument on the given index if the argument converts its values lazily.
+     * The first invalid value is recorded as the failure of this result.
+     * @param argument the argument of the schema
+     * @param index given index of the value
+     * @return true if the value is valid or the argument converts its values while parsing, false otherwise
+     */
+    public boolean validate(SimpleArgument argument, int index) {
+        int slot = schema.slotOf(argument);
+        if (!(values[slot] instanceof LazyValues)) {
+            return true;
+        }
+        LazyValues lazy = (LazyValues) values[slot];
+        return index < 0 || index >= lazy.count() || convertLazily(slot, lazy, index);
+    }
+
+
+    /**
+     * Converts all values of the argument if the argument converts its values lazily.
+     * The first invalid value is recorded as the failure of this result.
+     * @param argument the argument of the schema
+     * @return true if all values are valid or the argument converts its values while parsing, false otherwise
+     */
+    public boolean validate(SimpleArgument argument) {
+        return validateSlot(schema.slotOf(argument));
+    }
+
+
+    /**
+     * Converts all values of the arguments which convert their values lazily, in the order of the definition of the arguments.
+     * The first invalid value is recorded as the failure of this result.
+     * @return true if parsing succeeds and all values are valid, false otherwise
+     */
+    public boolean validateAll() {
+        for (int slot = 0; slot < values.length && isSuccessful(); slot++) {
+            validateSlot(slot);
+        }
+        return isSuccessful();
+    }
+
+
+    /**
+     * Converts all values of the argument on the index of the schema.
+     * @param slot index of the argument in the schema
+     * @return true if all values are valid, false otherwise
+     */
+    private boolean validateSlot(int slot) {
+        if (values[slot] instanceof LazyValues) {
+            LazyValues lazy = (LazyValues) values[slot];
+            for (int i = 0; i < lazy.count(); i++) {
+                if (!convertLazily(slot, lazy, i)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Converts a single lazily converted value, the failure is recorded.
+     * @param slot index of the argument in the schema
+     * @param lazy the lazily converted values
+     * @param index index of the value
+     * @return true if the value is valid, false otherwise
+     */
+    private boolean convertLazily(int slot, LazyValues lazy, int index) {
+        Object status = lazy.convert(index);
+        if (status == null) {
+            return true;
+        }
+        ParseError error = status == ValueConverter.Failure.MALFORMED ? ParseError.MALFORMED_VALUE : ParseError.VALIDATION_FAILED;
+        fail(error, lazy.index(), lazy.rawValue(), slot, lazy.bounds(), lazy.values(), index);
+        return false;
+    }
+
+
+    /**
+     * Returns the array of the values of the argument, the value on the given index is converted if needed.
+     * @param argument the argument of the schema
+     * @param index given index of the value
+     * @return array of the values
+     * @throws IllegalStateException If the value is not valid.
+     */
+    private Object valuesOf(SimpleArgument argument, int index) {
+        int slot = schema.slotOf(argument);
+        if (values[slot] instanceof LazyValues) {
+            LazyValues lazy = (LazyValues) values[slot];
+            if (!convertLazily(slot, lazy, index)) {
+                throw new IllegalStateException(getErrorMessage());
+            }
+            return lazy.values();
+        }
+        return values[slot];
+    }
+
+
+    /**
+     * Returns the array of all values of the argument, the values are converted if needed.
+     * @param argument the argument of the schema
+     * @return array of the values, null if the argument is not set or has no values
+     * @throws IllegalStateException If a value is not valid.
+     */
+    private Object valuesOf(SimpleArgument argument) {
+        int slot = schema.slotOf(argument);
+        if (values[slot] instanceof LazyValues) {
+            if (!validateSlot(slot)) {
+                throw new IllegalStateException(getErrorMessage());
+            }
+            return ((LazyValues) values[slot]).values();
+        }
+        return values[slot];
+    }
+
+
+    /**
+     * Get the value of the argument with parameters on the given index (zero based), primitive values are boxed.
+     * @param argument the argument of the schema
+     * @param index given index of the value
+     * @return value of the parameter
+     */
+    public Object getValue(SimpleArgument argument, int index) {
+        return Array.get(valuesOf(argument, index), index);
+    }
+
+
+    /**
+     * Get the value of the string argument on the given index (zero based).
+     * @param argument the argument of the schema
+     * @param index given index of the value
+     * @return value of the parameter
+     */
+    public String getValue(StringArgument argument, int index) {
+        return ((String[]) valuesOf(argument, index))[index];
+    }
+
+
+    /**
+     * Get the value of the integer argument on the given index (zero based).
+     * @param argument the argument of the schema
+     * @param index given index of the value
+     * @return value of the parameter
+     */
+    public Integer getValue(IntegerArgument argument, int index) {
+        return getInt(argument, index);
+    }
+
+
+    /**
+     * Get the value of the integer argument on the given index (zero based) without boxing.
+     * @param argument the argument of the schema
+     * @param index given index of the value
+     * @return value of the parameter
+     */
+    public int getInt(IntegerArgument argument, int index) {
+        return ((int[]) valuesOf(argument, index))[index];
+    }
+
+
+    /**
+     * Get a copy of all values of the integer argument.
+     * @param argument the argument of the schema
+     * @return values of the parameter, empty if the argument is not set
+     */
+    public int[] toIntArray(IntegerArgument argument) {
+        int[] value = (int[]) valuesOf(argument);
+        return value == null ? new int[0] : value.clone();
+    }
+
+
+    /**
+     * Get the value of the long argument on the given index (zero based).
+     * @param argument the argument of the schema
+     * @param index given index of the value
+     * @return value of the parameter
+     */
+    public Long getValue(LongArgument argument, int index) {
+        return getLong(argument, index);
+    }
+
+
+    /**
+     * Get the value of the long argument on the given index (zero based) without boxing.
+     * @param argument the argument of the schema
+     * @param index given index of the value
+     * @return value of the parameter
+     */
+    public long getLong(LongArgument argument, int index) {
+        return ((long[]) valuesOf(argument, index))[index];
+    }
+
+
+    /**
+     * Get a copy of all values of the long argument.
+     * @param argument the argument of the schema
+     * @return values of the parameter, empty if the argument is not set
+     */
+    public long[] toLongArray(LongArgument argument) {
+        long[] value = (long[]) valuesOf(argument);
+        return value == null ? new long[0] : value.clone();
+    }
+
+
+    /**
+     * Get the value of the double argument on the given index (zero based).
+     * @param argument the argument of the schema
+     * @param index given index of the value
+     * @return value of the parameter
+     */
+    public Double getValue(DoubleArgument argument, int index) {
+        return getDouble(argument, index);
+    }
+
+
+    /**
+     * Get the value of the double argument on the given index (zero based) without boxing.
+     * @param argument the argument of the schema
+     * @param index given index of the value
+     * @return value of the parameter
+     */
+    public double getDouble(DoubleArgument argument, int index) {
+        return ((double[]) valuesOf(argument, index))[index];
+    }
+
+
+    /**
+     * Get a copy of all values of the double argument.
+     * @param argument the argument of the schema
+     * @return values of the parameter, empty if the argument is not set
+     */
+    public double[] toDoubleArray(DoubleArgument argument) {
+        double[] value = (double[]) valuesOf(argument);
+        return value == null ? new double[0] : value.clone();
+    }
+
+
+    /**
+     * Returns number of parsed arguments.
+     * @return number of parsed arguments
+     */
+    public int getParsedArgumentsCount() {
+        return parsedArgumentsCount;
+    }
+
+
+    /**
+     * Returns trailing arguments.
+     * @return trailing arguments as an array of strings
+     */
+    public String[] getTrailingArguments() {
+        return trailingArguments.toArray(new String[0]);
+    }
+}
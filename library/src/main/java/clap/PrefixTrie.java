@@ -0,0 +1,192 @@
+package clap;
+
+import clap.arguments.SimpleArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The character trie of the names of the arguments of a {@link Schema}, it matches unique prefixes of the names.
+ * Each node knows the argument of all names below it, so a name or a prefix is resolved in a single walk
+ * along the characters of the token. The nodes are stored in parallel arrays sized by the total length of the names.
+ */
+final class PrefixTrie {
+    /**
+     * The result of a lookup of a prefix shared by names of different arguments.
+     */
+    static final int AMBIGUOUS = -2;
+
+    /**
+     * The character leading to each node, the root has none.
+     */
+    private final char[] labels;
+    /**
+     * The first child of each node, -1 if the node is a leaf. The children are sorted by their characters.
+     */
+    private final int[] firstChildren;
+    /**
+     * The next sibling of each node, -1 if the node is the last child.
+     */
+    private final int[] nextSiblings;
+    /**
+     * The argument of the name ending in each node, -1 if no name ends there.
+     */
+    private final int[] exact;
+    /**
+     * The argument of all names below each node, {@link #AMBIGUOUS} if they belong to different arguments.
+     */
+    private final int[] unique;
+    private int size = 1;
+
+
+    /**
+     * Inserts the names of the given arguments.
+     * @param arguments the arguments in the order of their slots
+     */
+    PrefixTrie(SimpleArgument[] arguments) {
+        int capacity = 1;
+        for (SimpleArgument argument : arguments) {
+            for (String name : argument.names) {
+                capacity += name.length();
+            }
+        }
+        labels = new char[capacity];
+        firstChildren = new int[capacity];
+        nextSiblings = new int[capacity];
+        exact = new int[capacity];
+        unique = new int[capacity];
+        firstChildren[0] = -1;
+        nextSiblings[0] = -1;
+        exact[0] = -1;
+        unique[0] = -1;
+        for (int slot = 0; slot < arguments.length; slot++) {
+            for (String name : arguments[slot].names) {
+                insert(name, slot);
+            }
+        }
+    }
+
+
+    /**
+     * Inserts the name, the name inserted last wins if the names are equal.
+     * @param name name of the argument
+     * @param slot index of the argument
+     */
+    private void insert(String name, int slot) {
+        int node = 0;
+        for (int i = 0; i < name.length(); i++) {
+            node = child(node, name.charAt(i));
+            unique[node] = unique[node] == -1 || unique[node] == slot ? slot : AMBIGUOUS;
+        }
+        exact[node] = slot;
+    }
+
+
+    /**
+     * Returns the child of the node, it is created if it does not exist.
+     * @param parent index of the parent node
+     * @param label character leading to the child
+     * @return index of the child
+     */
+    private int child(int parent, char label) {
+        int previous = -1;
+        int node = firstChildren[parent];
+        while (node >= 0 && labels[node] < label) {
+            previous = node;
+            node = nextSiblings[node];
+        }
+        if (node >= 0 && labels[node] == label) {
+            return node;
+        }
+        int created = size++;
+        labels[created] = label;
+        firstChildren[created] = -1;
+        nextSiblings[created] = node;
+        exact[created] = -1;
+        unique[created] = -1;
+        if (previous < 0) {
+            firstChildren[parent] = created;
+        }
+        else {
+            nextSiblings[previous] = created;
+        }
+        return created;
+    }
+
+
+    /**
+     * Finds the node reached by the characters of the text.
+     * @param text text containing the prefix
+     * @param start index of the first character of the prefix
+     * @param end index after the last character of the prefix
+     * @return index of the node, -1 if no name starts with the prefix
+     */
+    private int walk(CharSequence text, int start, int end) {
+        int node = 0;
+        for (int i = start; i < end && node >= 0; i++) {
+            char label = text.charAt(i);
+            node = firstChildren[node];
+            while (node >= 0 && labels[node] < label) {
+                node = nextSiblings[node];
+            }
+            if (node >= 0 && labels[node] != label) {
+                node = -1;
+            }
+        }
+        return node;
+    }
+
+
+    /**
+     * Finds the argument by its name or by a prefix of the names of a single argument.
+     * @param text text containing the name
+     * @param start index of the first character of the name
+     * @param end index after the last character of the name
+     * @return index of the argument, -1 if no name starts with the prefix, {@link #AMBIGUOUS} if it matches different arguments
+     */
+    int find(CharSequence text, int start, int end) {
+        if (start == end) {
+            return -1;
+        }
+        int node = walk(text, start, end);
+        if (node < 0) {
+            return -1;
+        }
+        return exact[node] >= 0 ? exact[node] : unique[node];
+    }
+
+
+    /**
+     * Lists the names starting with the prefix.
+     * @param text text containing the prefix
+     * @param start index of the first character of the prefix
+     * @param end index after the last character of the prefix
+     * @return names starting with the prefix in alphabetical order
+     */
+    List<String> candidates(CharSequence text, int start, int end) {
+        List<String> names = new ArrayList<>();
+        int node = walk(text, start, end);
+        if (node >= 0) {
+            collect(node, new StringBuilder(text.subSequence(start, end)), names);
+        }
+        return names;
+    }
+
+
+    /**
+     * Collects the names in the subtree of the node.
+     * @param node index of the node
+     * @param name characters leading to the node
+     * @param names collected names
+     */
+    private void collect(int node, StringBuilder name, List<String> names) {
+        if (exact[node] >= 0) {
+            names.add(name.toString());
+        }
+        for (int child = firstChildren[node]; child >= 0; child = nextSiblings[child]) {
+            name.append(labels[child]);
+            collect(child, name, names);
+            name.setLength(name.length() - 1);
+        }
+    }
+}
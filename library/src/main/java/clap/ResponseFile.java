@@ -0,0 +1,91 @@
+package clap;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads tokens of a response file lazily, see {@link Tokenizer} for the syntax. The file is mapped to memory in windows,
+ * so only the longest token is held on the heap. Files compressed by gzip are decompressed on the fly.
+ */
+final class ResponseFile extends Tokenizer implements Closeable {
+    /**
+     * The size of a memory-mapped window of the file.
+     */
+    private static final long WINDOW_SIZE = 1L << 26;
+
+    private final FileChannel channel;
+    private final long size;
+    /**
+     * The position of {@link #window} in the file.
+     */
+    private long windowStart = 0;
+    private MappedByteBuffer window;
+    /**
+     * The decompressed content, null if the file is not compressed.
+     */
+    private final InputStream compressed;
+
+
+    /**
+     * Opens the response file.
+     * @param path path of the file
+     * @throws IOException If the file cannot be opened.
+     */
+    ResponseFile(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            size = channel.size();
+            window = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, WINDOW_SIZE));
+            if (size >= 2 && (window.get(0) & 0xff) == 0x1f && (window.get(1) & 0xff) == 0x8b) {
+                compressed = new GZIPInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            }
+            else {
+                compressed = null;
+            }
+        }
+        catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int read() throws IOException {
+        if (compressed != null) {
+            return compressed.read();
+        }
+        if (!window.hasRemaining()) {
+            long nextStart = windowStart + window.capacity();
+            if (nextStart >= size) {
+                return -1;
+            }
+            windowStart = nextStart;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(size - windowStart, WINDOW_SIZE));
+        }
+        return window.get() & 0xff;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        if (compressed != null) {
+            compressed.close();
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,707 @@
+package clap;
+
+import clap.exceptions.ArgumentException;
+import clap.arguments.*;
+import jdk.jfr.EventType;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * Immutable snapshot of the arguments defined in a {@link Manager}.
+ * The schema does not keep any parsing state, so a single instance can parse command lines from many threads at once.
+ * Custom subclasses of {@link SimpleArgument} are the exception, they receive their values through {@link SimpleArgument#setValue(String)}
+ * and store them themselves, so a schema with such arguments parses a single command line at a time.
+ * <p>
+ * The names are packed into a {@link NameTable}, which finds the index of an argument by the name read in place from the token,
+ * so the lookup allocates nothing and the schema holds no map per argument. The tables make the lookup fast, they do not make
+ * the declarations smaller. The argument objects stay alive with the schema, because they are the handles of the values in a {@link ParseResult}
+ * and they keep the name lists, the descriptions and the validators. For 20,000 integer options with two names each,
+ * the declarations retain about 280 bytes per option in the {@link Manager}, mostly the strings and the argument objects,
+ * and freezing them adds about 120 bytes per option on top of that, as {@code SnapshotBenchmark} in the benchmarks measures.
+ */
+public final class Schema {
+    /**
+     * The type of the parse event, the event is created only when a recording enables it.
+     */
+    private static final EventType PARSE_EVENT = EventType.getEventType(ParseEvent.class);
+    /**
+     * The type of the validation event, the event is created only when a recording enables it.
+     */
+    private static final EventType VALIDATION_EVENT = EventType.getEventType(ValidationEvent.class);
+
+    /**
+     * The defined arguments in the order of their creation.
+     */
+    private final SimpleArgument[] arguments;
+    /**
+     * The names of the arguments at the time of freezing.
+     */
+    private final NameTable names;
+    /**
+     * The trie matching unique prefixes of the names, null if only whole names are accepted.
+     */
+    private final PrefixTrie prefixes;
+    /**
+     * The suggestions of the names for unknown names, null until the first unknown name is described.
+     */
+    private volatile NameSuggestions suggestions;
+    /**
+     * The converter of each argument, null if the argument does not expect parameters.
+     */
+    private final ValueConverter[] converters;
+    /**
+     * The indexes of the arguments which expect a parameter.
+     */
+    private final BitSet parameters = new BitSet();
+    /**
+     * The indexes of the custom arguments, which receive their values through {@link SimpleArgument#setValue(String)}.
+     */
+    private final BitSet custom = new BitSet();
+    /**
+     * The indexes of the required arguments.
+     */
+    private final BitSet required = new BitSet();
+    /**
+     * The indexes of the arguments which convert their values on the first access.
+     */
+    private final BitSet lazy = new BitSet();
+    /**
+     * Indexes of unnamed arguments in the order of their definition.
+     */
+    private final int[] unnamedArgs;
+    /**
+     * Whether tokens starting with {@code @} are replaced by the tokens of the response files.
+     */
+    private final boolean responseFiles;
+    /**
+     * The receiver of the measurements of the parsing, null if the parsing is not measured.
+     */
+    private final ParseListener listener;
+
+
+    /**
+     * Freezes the given arguments.
+     * @param arguments the defined arguments
+     * @param responseFiles whether tokens starting with {@code @} are replaced by the tokens of the response files
+     * @param abbreviations whether unique prefixes of the names are accepted
+     * @param listener receiver of the measurements of the parsing, null if the parsing is not measured
+     */
+    Schema(List<SimpleArgument> arguments, boolean responseFiles, boolean abbreviations, ParseListener listener) {
+        this.responseFiles = responseFiles;
+        this.listener = listener;
+        this.arguments = arguments.toArray(new SimpleArgument[0]);
+        int count = this.arguments.length;
+        converters = new ValueConverter[count];
+        for (int i = 0; i < count; i++) {
+            SimpleArgument argument = this.arguments[i];
+            converters[i] = argument.createConverter();
+            parameters.set(i, argument.expectsParameters());
+            custom.set(i, converters[i] == null && argument.getClass() != SimpleArgument.class);
+            required.set(i, argument.isRequired());
+            lazy.set(i, argument.convertsLazily());
+        }
+        long start = listener == null ? 0 : System.nanoTime();
+        names = new NameTable(this.arguments);
+        prefixes = abbreviations ? new PrefixTrie(this.arguments) : null;
+        unnamedArgs = sortArguments();
+        if (listener != null) {
+            listener.phaseFinished(ParsePhase.SORT_ARGUMENTS, System.nanoTime() - start);
+        }
+    }
+
+
+    /**
+     * Returns the number of the defined arguments.
+     * @return number of the arguments
+     */
+    public int getArgumentsCount() {
+        return arguments.length;
+    }
+
+
+    /**
+     * Parses the given command line arguments.
+     * @param arguments arguments from the command line
+     * @return a new result of the parsing
+     * @throws ArgumentException If parsing fails.
+     */
+    public ParseResult parse(String[] arguments) throws ArgumentException {
+        ParseResult result = tryParse(arguments);
+        if (!result.isSuccessful()) {
+            throw new ArgumentException(result.getErrorMessage());
+        }
+        return result;
+    }
+
+
+    /**
+     * Parses the command line arguments supplied by the source as they arrive.
+     * @param source source of the arguments from the command line
+     * @return a new result of the parsing
+     * @throws ArgumentException If parsing fails.
+     */
+    public ParseResult parse(TokenSource source) throws ArgumentException {
+        ParseResult result = tryParse(source);
+        if (!result.isSuccessful()) {
+            throw new ArgumentException(result.getErrorMessage());
+        }
+        return result;
+    }
+
+
+    /**
+     * Parses the given command line arguments without throwing on invalid arguments.
+     * @param arguments arguments from the command line
+     * @return a new result of the parsing, which describes the failure if parsing fails
+     */
+    public ParseResult tryParse(String[] arguments) {
+        if (arguments == null) {
+            throw new IllegalArgumentException("Arguments cannot be null!");
+        }
+        return tryParse(new TokenStream(arguments, responseFiles));
+    }
+
+
+    /**
+     * Parses the command line arguments supplied by the source as they arrive without throwing on invalid arguments.
+     * @param source source of the arguments from the command line
+     * @return a new result of the parsing, which describes the failure if parsing fails
+     */
+    public ParseResult tryParse(TokenSource source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source cannot be null!");
+        }
+        return tryParse(new TokenStream(source, responseFiles));
+    }
+
+
+    /**
+     * Parses the given command line arguments like {@link #tryParse(String[])}, but the tokens starting with {@code @}
+     * are never replaced by the tokens of the response files, e.g. because the command line comes from an untrusted client.
+     * @param arguments arguments from the command line
+     * @return a new result of the parsing, which describes the failure if parsing fails
+     */
+    ParseResult tryParseWithoutResponseFiles(String[] arguments) {
+        return tryParse(new TokenStream(arguments, false));
+    }
+
+
+    /**
+     * Parses the command line arguments supplied by the source like {@link #tryParse(TokenSource)}, but the tokens starting with {@code @}
+     * are never replaced by the tokens of the response files, e.g. because the command line comes from recorded or untrusted data.
+     * @param source source of the arguments from the command line
+     * @return a new result of the parsing, which describes the failure if parsing fails
+     */
+    ParseResult tryParseWithoutResponseFiles(TokenSource source) {
+        return tryParse(new TokenStream(source, false));
+    }
+
+
+    /**
+     * Parses the tokens into a new result.
+     * @param tokens tokens of the command line
+     * @return a new result of the parsing
+     */
+    private ParseResult tryParse(TokenStream tokens) {
+        ParseResult result = new ParseResult(this);
+        parseInto(tokens, result);
+        return result;
+    }
+
+
+    /**
+     * Parses all tokens of the command line and checks the required arguments.
+     * @param tokens tokens of the command line, the stream is closed afterwards
+     * @param result result of the parsing, it describes the failure if parsing fails
+     * @return true if all tokens are parsed, even if a required argument is not set, false otherwise
+     */
+    boolean parseInto(TokenStream tokens, ParseResult result) {
+        ParseEvent event = PARSE_EVENT.isEnabled() ? new ParseEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        long start = listener == null ? 0 : System.nanoTime();
+        for (int i = custom.nextSetBit(0); i >= 0; i = custom.nextSetBit(i + 1)) {
+            arguments[i].resetValue();
+        }
+        boolean tokensParsed = parseTokens(tokens, result);
+        if (tokensParsed) {
+            checkRequiredArguments(result);
+        }
+        if (listener != null) {
+            listener.parseFinished(tokens.index() + 1, result.getError(), System.nanoTime() - start);
+        }
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.tokens = tokens.index() + 1;
+                event.arguments = arguments.length;
+                event.outcome = result.getError() == null ? "SUCCESS" : result.getError().name();
+                event.commit();
+            }
+        }
+        return tokensParsed;
+    }
+
+
+    /**
+     * Collects the unnamed arguments, the named arguments are found in {@link #names}.
+     * @return indexes of the unnamed arguments
+     */
+    private int[] sortArguments() {
+        int[] unnamed = new int[arguments.length];
+        int unnamedCount = 0;
+        for (int i = 0; i < arguments.length; i++) {
+            if (!names.isNamed(i)) {
+                unnamed[unnamedCount++] = i;
+            }
+        }
+        return Arrays.copyOf(unnamed, unnamedCount);
+    }
+
+
+    /**
+     * Returns whether tokens starting with {@code @} are replaced by the tokens of the response files.
+     * @return true if response files are expanded, false otherwise
+     */
+    public boolean expandsResponseFiles() {
+        return responseFiles;
+    }
+
+
+    /**
+     * Returns whether unique prefixes of the argument names are accepted as the names.
+     * @return true if the names can be abbreviated, false otherwise
+     */
+    public boolean acceptsAbbreviations() {
+        return prefixes != null;
+    }
+
+
+    /**
+     * Returns whether some arguments are custom subclasses of {@link SimpleArgument}, which store their values themselves.
+     * Such a schema parses a single command line at a time.
+     * @return true if the schema has custom arguments, false otherwise
+     */
+    public boolean hasCustomArguments() {
+        return !custom.isEmpty();
+    }
+
+
+    /**
+     * Returns whether the argument expects a parameter.
+     * @param slot index of the argument in this schema
+     * @return true if the argument expects a parameter, false otherwise
+     */
+    boolean expectsParameter(int slot) {
+        return parameters.get(slot);
+    }
+
+
+    /**
+     * Returns the trie of the names, it is the trie matching abbreviations if there is one.
+     * @return trie of the names of all arguments
+     */
+    PrefixTrie prefixTrie() {
+        return prefixes != null ? prefixes : new PrefixTrie(arguments);
+    }
+
+
+    /**
+     * Returns the index of the argument in this schema. The argument is found by its names in the name table,
+     * unnamed arguments and arguments renamed after freezing are searched for.
+     * @param argument the argument
+     * @return index of the argument
+     */
+    int slotOf(SimpleArgument argument) {
+        for (int i = 0; i < argument.names.size(); i++) {
+            String name = argument.names.get(i);
+            int slot = names.find(name, 0, name.length());
+            if (slot >= 0 && arguments[slot] == argument) {
+                return slot;
+            }
+        }
+        for (int slot : unnamedArgs) {
+            if (arguments[slot] == argument) {
+                return slot;
+            }
+        }
+        for (int slot = 0; slot < arguments.length; slot++) {
+            if (arguments[slot] == argument) {
+                return slot;
+            }
+        }
+        throw new IllegalArgumentException("The argument is not a part of this schema!");
+    }
+
+
+    /**
+     * Parses all tokens of the command line and stores results in the given result.
+     * @param tokens tokens of the command line, the stream is closed afterwards
+     * @param result result of the parsing
+     * @return true if parsing succeeds, false if the failure is stored in the result
+     */
+    private boolean parseTokens(TokenStream tokens, ParseResult result) {
+        if (listener == null) {
+            return parseAllTokens(tokens, result);
+        }
+        long start = System.nanoTime();
+        boolean parsed = parseAllTokens(tokens, result);
+        listener.phaseFinished(ParsePhase.TOKEN_LOOP, System.nanoTime() - start);
+        return parsed;
+    }
+
+
+    /**
+     * Parses all tokens of the command line without measuring the loop.
+     * @param tokens tokens of the command line, the stream is closed afterwards
+     * @param result result of the parsing
+     * @return true if parsing succeeds, false if the failure is stored in the result
+     */
+    private boolean parseAllTokens(TokenStream tokens, ParseResult result) {
+        try {
+            String token;
+            while ((token = tokens.next()) != null) {
+                if (token.equals("--")) {
+                    tokens.stopExpanding();
+                    return parsePlainArguments(tokens, result);
+                }
+                if (!parseArgument(tokens, token, result)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        catch (IOException e) {
+            if (tokens.sourceFailed()) {
+                result.fail(ParseError.SOURCE_UNREADABLE, tokens.index() + 1, null, -1);
+            }
+            else {
+                result.fail(ParseError.RESPONSE_FILE_UNREADABLE, tokens.index() + 1, tokens.currentRawArgument(), -1);
+            }
+            return false;
+        }
+        finally {
+            tokens.close();
+        }
+    }
+
+
+    /**
+     * This function parses plain arguments after "--" delimiter.
+     * @param tokens tokens of the command line
+     * @param result result of the parsing
+     * @return true if parsing succeeds, false otherwise
+     */
+    private boolean parsePlainArguments(TokenStream tokens, ParseResult result) throws IOException {
+        String token;
+        while ((token = tokens.next()) != null) {
+            if (!parseUnnamedArg(token, tokens.index(), result)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Check that all required arguments are set.
+     * @param result result of the parsing
+     * @return true if all required arguments are set, false otherwise
+     */
+    private boolean checkRequiredArguments(ParseResult result) {
+        long start = listener == null ? 0 : System.nanoTime();
+        boolean allSet = findMissingArgument(result);
+        if (listener != null) {
+            listener.phaseFinished(ParsePhase.CHECK_REQUIRED_ARGUMENTS, System.nanoTime() - start);
+        }
+        return allSet;
+    }
+
+
+    /**
+     * Finds the first required argument which is not set and records it as the failure.
+     * @param result result of the parsing
+     * @return true if all required arguments are set, false otherwise
+     */
+    private boolean findMissingArgument(ParseResult result) {
+        for (int i = required.nextSetBit(0); i >= 0; i = required.nextSetBit(i + 1)) {
+            if (!result.isSet(i)) {
+                result.fail(ParseError.MISSING_REQUIRED_ARGUMENT, -1, null, i);
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Method to parse given argument.
+     * @param tokens tokens of the command line
+     * @param argValue The argument to parse
+     * @param result result of the parsing
+     * @return true if parsing succeeds, false otherwise
+     */
+    private boolean parseArgument(TokenStream tokens, String argValue, ParseResult result) throws IOException {
+        if (argValue.startsWith("-")) {
+            int slot;
+            if (listener == null) {
+                slot = findArgument(argValue);
+            }
+            else {
+                long start = System.nanoTime();
+                slot = findArgument(argValue);
+                listener.phaseFinished(ParsePhase.FIND_ARGUMENT, System.nanoTime() - start);
+            }
+            if (slot < 0) {
+                ParseError error = slot == PrefixTrie.AMBIGUOUS ? ParseError.AMBIGUOUS_ARGUMENT : ParseError.UNKNOWN_ARGUMENT;
+                result.fail(error, tokens.index(), argValue, -1);
+                return false;
+            }
+            return parseNamedArg(tokens, argValue, slot, result);
+        }
+        else {
+            return parseUnnamedArg(argValue, tokens.index(), result);
+        }
+    }
+
+
+    /**
+     * Parse unnamed arguments
+     * @param argValue The argument value
+     * @param index The index of the argument on the command line
+     * @param result result of the parsing
+     * @return true if parsing succeeds, false otherwise
+     */
+    private boolean parseUnnamedArg(String argValue, int index, ParseResult result) {
+        if (result.unnamedArgsIndex < unnamedArgs.length) {
+            if (!setValue(unnamedArgs[result.unnamedArgsIndex++], argValue, index, result)) {
+                return false;
+            }
+        }
+        else {
+            result.trailingArguments.add(argValue);
+        }
+        result.parsedArgumentsCount++;
+        return true;
+    }
+
+
+    /**
+     * parse named argument
+     * @param tokens tokens of the command line
+     * @param argName The name of the argument as written on the command line
+     * @param slot The index of the argument in this schema
+     * @param result result of the parsing
+     * @return true if parsing succeeds, false otherwise
+     */
+    private boolean parseNamedArg(TokenStream tokens, String argName, int slot, ParseResult result) throws IOException {
+        if (!parameters.get(slot)) {
+            if (!setValue(slot, null, tokens.index(), result)) {
+                return false;
+            }
+        }
+        else {
+            int index = tokens.index();
+            String parameter = tokens.next();
+            if (!checkParameterIsPresent(parameter, argName, index, result)
+                    || !setValue(slot, parameter, tokens.index(), result)) {
+                return false;
+            }
+        }
+
+        result.parsedArgumentsCount++;
+        return true;
+    }
+
+
+    /**
+     * Converts the value and stores it in the result.
+     * @param slot The index of the argument in this schema
+     * @param argValue The raw value from the command line, null if the argument does not expect parameters
+     * @param index The index of the value on the command line
+     * @param result result of the parsing
+     * @return true if the value is converted, false otherwise
+     */
+    private boolean setValue(int slot, String argValue, int index, ParseResult result) {
+        if (custom.get(slot)) {
+            return setCustomValue(slot, argValue, index, result);
+        }
+        ValueConverter converter = converters[slot];
+        if (converter == null) {
+            result.setValue(slot, null);
+            return true;
+        }
+        if (lazy.get(slot)) {
+            result.setValue(slot, new LazyValues(argValue, converter, index));
+            return true;
+        }
+
+        int[] bounds = converter.split(argValue);
+        Object values = converter.newValues(bounds.length - 1);
+        boolean recorded = VALIDATION_EVENT.isEnabled();
+        boolean measured = listener != null || recorded;
+        long start = measured ? System.nanoTime() : 0;
+        int malformed = converter.parse(argValue, bounds, values);
+        if (measured) {
+            reportPhase(ParsePhase.CONVERSION, start);
+        }
+        if (malformed >= 0) {
+            result.fail(ParseError.MALFORMED_VALUE, index, argValue, slot, bounds, values, malformed);
+            return false;
+        }
+        int invalid = measured ? validateMeasured(slot, converter, values, recorded) : converter.findInvalidValue(values);
+        if (invalid >= 0) {
+            result.fail(ParseError.VALIDATION_FAILED, index, argValue, slot, bounds, values, invalid);
+            return false;
+        }
+        result.setValue(slot, values);
+        return true;
+    }
+
+
+    /**
+     * Passes the value to a custom argument, which stores it itself.
+     * @param slot The index of the argument in this schema
+     * @param argValue The raw value from the command line, null if the argument does not expect parameters
+     * @param index The index of the value on the command line
+     * @param result result of the parsing
+     * @return true if the argument accepts the value, false otherwise
+     */
+    private boolean setCustomValue(int slot, String argValue, int index, ParseResult result) {
+        try {
+            arguments[slot].setValue(argValue);
+        }
+        catch (ArgumentException e) {
+            result.fail(ParseError.MALFORMED_VALUE, index, argValue, slot, e.getMessage());
+            return false;
+        }
+        result.setValue(slot, null);
+        return true;
+    }
+
+
+    /**
+     * Reports the duration of a phase to the listener.
+     * @param phase the finished phase
+     * @param start the time the phase started, see {@link System#nanoTime()}
+     */
+    private void reportPhase(ParsePhase phase, long start) {
+        if (listener != null) {
+            listener.phaseFinished(phase, System.nanoTime() - start);
+        }
+    }
+
+
+    /**
+     * Validates the converted values, and reports the duration to the listener and the validation to the Flight Recorder.
+     * @param slot The index of the argument in this schema
+     * @param converter converter of the argument
+     * @param values the converted values
+     * @param recorded whether a recording enables the validation event
+     * @return index of the first invalid value, or -1 if all values are valid
+     */
+    private int validateMeasured(int slot, ValueConverter converter, Object values, boolean recorded) {
+        ValidationEvent event = recorded ? new ValidationEvent() : null;
+        long start = System.nanoTime();
+        if (event != null) {
+            event.begin();
+        }
+        int invalid = converter.findInvalidValue(values);
+        if (event != null) {
+            event.end();
+        }
+        reportPhase(ParsePhase.VALIDATION, start);
+        if (event != null && event.shouldCommit()) {
+            event.argument = names.namesOf(slot).toString();
+            event.values = Array.getLength(values);
+            event.valid = invalid < 0;
+            event.commit();
+        }
+        return invalid;
+    }
+
+
+    /**
+     * Check that the parameter for paramsArgument is present
+     * @param parameter The parameter, null if the command line ends
+     * @param argName The name of the argument as written on the command line
+     * @param index The index of the argument on the command line
+     * @param result result of the parsing
+     * @return true if the parameter is present, false otherwise
+     */
+    private boolean checkParameterIsPresent(String parameter, String argName, int index, ParseResult result) {
+        if (parameter == null) {
+            result.fail(ParseError.MISSING_PARAMETER, index, argName, -1);
+            return false;
+        }
+        return true;
+    }
+
+
+    /**
+     * Find argument by name, or by a unique prefix of the names if abbreviations are accepted
+     * @param argName The name of the argument
+     * @return The index of the argument in this schema, -1 if the argument is not found,
+     * or {@link PrefixTrie#AMBIGUOUS} if the prefix matches several arguments
+     */
+    int findArgument(String argName) {
+        int start = ArgumentSyntax.countDashes(argName);
+        int slot = names.find(argName, start, argName.length());
+        if (slot < 0 && prefixes != null) {
+            slot = prefixes.find(argName, start, argName.length());
+        }
+        return slot;
+    }
+
+
+    /**
+     * Returns the suggestions of the names, they are built on the first call.
+     * Concurrent first calls may build them twice, but all of them get equal suggestions.
+     * @return suggestions of the names
+     */
+    private NameSuggestions suggestions() {
+        NameSuggestions built = suggestions;
+        if (built == null) {
+            built = new NameSuggestions(names.allNames());
+            suggestions = built;
+        }
+        return built;
+    }
+
+
+    /**
+     * Builds the human-readable description of the failure. A failed value is described from the recorded element,
+     * neither the converter nor the validator is called again.
+     * @param error the kind of the failure
+     * @param token the offending token, null if there is none
+     * @param slot the index of the offending argument in this schema, -1 if there is none
+     * @param bounds bounds of the elements of the offending value, null if no value fails
+     * @param values the converted values of the offending value, null if no value fails
+     * @param element index of the offending element, -1 if no value fails
+     * @return description of the failure
+     */
+    String describeFailure(ParseError error, String token, int slot, int[] bounds, Object values, int element) {
+        switch (error) {
+            case UNKNOWN_ARGUMENT:
+                return suggestions().describeUnknownArgument(token);
+            case AMBIGUOUS_ARGUMENT:
+                return "Ambiguous argument name " + token + ", it matches "
+                        + prefixes.candidates(token, ArgumentSyntax.countDashes(token), token.length());
+            case MISSING_PARAMETER:
+                return "Argument " + token + " expects a parameter!";
+            case MISSING_REQUIRED_ARGUMENT:
+                return "Required argument " + names.namesOf(slot) + " is not set!";
+            case RESPONSE_FILE_UNREADABLE:
+                return "Cannot read response file " + token.substring(1);
+            case SOURCE_UNREADABLE:
+                return "Cannot read command line arguments!";
+            case MALFORMED_VALUE:
+                return converters[slot].describeMalformed(token.substring(bounds[element] + 1, bounds[element + 1]));
+            default:
+                return converters[slot].describeRejected(values, element);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package clap;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+
+/**
+ * Supplies command line arguments one by one, so the arguments can be parsed as they arrive.
+ * A source can be parsed only once.
+ */
+@FunctionalInterface
+public interface TokenSource {
+    /**
+     * Supplies the next argument.
+     * @return the next argument, or null if there are no more arguments
+     * @throws IOException If the arguments cannot be read.
+     */
+    String next() throws IOException;
+
+    /**
+     * Creates a source of the arguments from the iterator.
+     * @param iterator iterator of the arguments
+     * @return source of the arguments
+     */
+    static TokenSource of(Iterator<String> iterator) {
+        if (iterator == null) {
+            throw new IllegalArgumentException("Iterator cannot be null!");
+        }
+        return () -> iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * Creates a source of the arguments read from the reader, e.g. the output of {@code find -print0}.
+     * Only the argument being read is held in memory. The reader is not closed by the source.
+     * @param reader reader of the arguments
+     * @param delimiter character which terminates each argument, usually {@code '\0'} or {@code '\n'}
+     * @return source of the arguments
+     */
+    static TokenSource of(Reader reader, char delimiter) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Reader cannot be null!");
+        }
+        return new DelimitedTokenSource(reader, delimiter);
+    }
+}
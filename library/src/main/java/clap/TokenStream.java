@@ -0,0 +1,199 @@
+package clap;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * Supplies the tokens of the command line to the parsing one by one.
+ * A token starting with {@code @} is replaced by the tokens of the response file if response files are enabled.
+ * The tokens of a response file are not expanded again.
+ */
+final class TokenStream {
+    /**
+     * The raw arguments, null if the arguments are supplied by {@link #source}.
+     */
+    private String[] rawArguments;
+    /**
+     * The source of the raw arguments, null if the arguments are in {@link #rawArguments}.
+     */
+    private TokenSource source;
+    /**
+     * The raw argument supplied by the source last.
+     */
+    private String currentRawArgument;
+    /**
+     * The index of the next token in {@link #rawArguments}.
+     */
+    private int rawIndex;
+    /**
+     * The index of the last supplied token in the expanded command line.
+     */
+    private int index;
+    private boolean expandResponseFiles;
+    /**
+     * The response file being read, null if there is none.
+     */
+    private ResponseFile responseFile;
+    /**
+     * Whether the last failure comes from the source rather than from a response file.
+     */
+    private boolean sourceFailed;
+
+
+    /**
+     * Creates a stream of the given tokens.
+     * @param rawArguments arguments from the command line
+     * @param expandResponseFiles whether tokens starting with {@code @} are replaced by the tokens of the files
+     */
+    TokenStream(String[] rawArguments, boolean expandResponseFiles) {
+        reset(rawArguments, expandResponseFiles);
+    }
+
+
+    /**
+     * Starts supplying other tokens, so the stream can be reused.
+     * @param rawArguments arguments from the command line
+     * @param expandResponseFiles whether tokens starting with {@code @} are replaced by the tokens of the files
+     */
+    void reset(String[] rawArguments, boolean expandResponseFiles) {
+        this.rawArguments = rawArguments;
+        source = null;
+        this.expandResponseFiles = expandResponseFiles;
+        rawIndex = 0;
+        index = -1;
+        responseFile = null;
+        sourceFailed = false;
+    }
+
+
+    /**
+     * Creates a stream of the tokens supplied by the source.
+     * @param source source of the arguments from the command line
+     * @param expandResponseFiles whether tokens starting with {@code @} are replaced by the tokens of the files
+     */
+    TokenStream(TokenSource source, boolean expandResponseFiles) {
+        reset(source, expandResponseFiles);
+    }
+
+
+    /**
+     * Starts supplying the tokens of another source, so the stream can be reused.
+     * @param source source of the arguments from the command line
+     * @param expandResponseFiles whether tokens starting with {@code @} are replaced by the tokens of the files
+     */
+    void reset(TokenSource source, boolean expandResponseFiles) {
+        reset((String[]) null, expandResponseFiles);
+        this.source = source;
+        currentRawArgument = null;
+    }
+
+
+    /**
+     * Supplies the next token.
+     * @return the next token, or null if there are no more tokens
+     * @throws IOException If a response file cannot be read.
+     */
+    String next() throws IOException {
+        while (true) {
+            if (responseFile != null) {
+                String token = responseFile.next();
+                if (token != null) {
+                    index++;
+                    return token;
+                }
+                close();
+            }
+            String token = nextRawArgument();
+            if (token == null) {
+                return null;
+            }
+            if (expandResponseFiles && token.length() > 1 && token.charAt(0) == '@') {
+                try {
+                    responseFile = new ResponseFile(Path.of(token.substring(1)));
+                }
+                catch (InvalidPathException e) {
+                    throw new IOException(e);
+                }
+            }
+            else {
+                index++;
+                return token;
+            }
+        }
+    }
+
+
+    /**
+     * Supplies the next raw argument without expanding it.
+     * @return the next raw argument, or null if there are no more arguments
+     * @throws IOException If the source cannot be read.
+     */
+    private String nextRawArgument() throws IOException {
+        if (source != null) {
+            try {
+                currentRawArgument = source.next();
+            }
+            catch (IOException e) {
+                sourceFailed = true;
+                throw e;
+            }
+            return currentRawArgument;
+        }
+        return rawIndex < rawArguments.length ? rawArguments[rawIndex++] : null;
+    }
+
+
+    /**
+     * Returns the raw argument which is being expanded or which was supplied last.
+     * @return the current raw argument, null if no argument was supplied
+     */
+    String currentRawArgument() {
+        if (source != null) {
+            return currentRawArgument;
+        }
+        return rawIndex > 0 ? rawArguments[rawIndex - 1] : null;
+    }
+
+
+    /**
+     * Returns whether the last failure comes from the source rather than from a response file.
+     * @return true if the source cannot be read, false otherwise
+     */
+    boolean sourceFailed() {
+        return sourceFailed;
+    }
+
+
+    /**
+     * Returns the index of the last supplied token in the expanded command line.
+     * @return index of the last token, -1 if no token was supplied
+     */
+    int index() {
+        return index;
+    }
+
+
+    /**
+     * Stops replacing tokens starting with {@code @}, e.g. after the plain argument delimiter.
+     */
+    void stopExpanding() {
+        expandResponseFiles = false;
+    }
+
+
+    /**
+     * Closes the response file being read.
+     */
+    void close() {
+        if (responseFile != null) {
+            try {
+                responseFile.close();
+            }
+            catch (IOException e) {
+                // the file was only read, nothing is lost
+            }
+            responseFile = null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package clap;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Splits UTF-8 bytes into tokens. The tokens are separated by whitespace, a token can be quoted by single or double quotes,
+ * and a backslash escapes the next character inside double quotes. Only the longest token is held on the heap.
+ */
+abstract class Tokenizer {
+    /**
+     * The bytes of the current token, it grows to the length of the longest token.
+     */
+    private byte[] token = new byte[64];
+
+
+    /**
+     * Reads the next byte.
+     * @return the next byte, or -1 at the end of the input
+     * @throws IOException If reading fails.
+     */
+    abstract int read() throws IOException;
+
+
+    /**
+     * Reads the next token.
+     * @return the next token, or null at the end of the input
+     * @throws IOException If reading fails.
+     */
+    String next() throws IOException {
+        int c = read();
+        while (c >= 0 && isWhitespace(c)) {
+            c = read();
+        }
+        if (c < 0) {
+            return null;
+        }
+
+        int length = 0;
+        int quote = 0;
+        while (c >= 0 && (quote != 0 || !isWhitespace(c))) {
+            if (quote == 0 && (c == '"' || c == '\'')) {
+                quote = c;
+            }
+            else if (quote != 0 && c == quote) {
+                quote = 0;
+            }
+            else {
+                if (c == '\\' && quote == '"') {
+                    c = read();
+                    if (c < 0) {
+                        break;
+                    }
+                }
+                if (length == token.length) {
+                    token = Arrays.copyOf(token, length * 2);
+                }
+                token[length++] = (byte) c;
+            }
+            c = read();
+        }
+        return new String(token, 0, length, StandardCharsets.UTF_8);
+    }
+
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+    }
+}
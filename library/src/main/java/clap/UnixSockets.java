@@ -0,0 +1,118 @@
+package clap;
+
+import java.io.IOException;
+import java.net.BindException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Binds and removes the Unix domain sockets of the servers. Only a stale socket file, which no server listens on, is replaced,
+ * any other file at the path is left untouched.
+ */
+final class UnixSockets {
+    /**
+     * The file type bits of {@code unix:mode}.
+     */
+    private static final int TYPE_MASK = 0170000;
+    /**
+     * The file type of a socket in {@code unix:mode}.
+     */
+    private static final int TYPE_SOCKET = 0140000;
+    /**
+     * The pause after a failed accept, e.g. when the process runs out of file descriptors, so the acceptor does not spin.
+     */
+    private static final long ACCEPT_BACKOFF_MILLIS = 100;
+
+    private UnixSockets() {
+    }
+
+    /**
+     * Binds a server socket to the path, a stale socket file left by a previous server is deleted first.
+     * @param socket path of the socket file
+     * @return the bound server channel
+     * @throws IOException If another file exists at the path, a server listens on the socket, or the socket cannot be bound.
+     */
+    static ServerSocketChannel bind(Path socket) throws IOException {
+        if (Files.exists(socket, LinkOption.NOFOLLOW_LINKS)) {
+            if (!isSocket(socket) || isListening(socket)) {
+                throw new BindException("Cannot bind " + socket + ", address in use");
+            }
+            Files.delete(socket);
+        }
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            channel.bind(UnixDomainSocketAddress.of(socket));
+        }
+        catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     * Deletes the socket file of a closed server, a file which is not a socket is left untouched.
+     * @param socket path of the socket file
+     * @throws IOException If the socket file cannot be deleted.
+     */
+    static void unlink(Path socket) throws IOException {
+        if (Files.exists(socket, LinkOption.NOFOLLOW_LINKS) && isSocket(socket)) {
+            Files.deleteIfExists(socket);
+        }
+    }
+
+    /**
+     * Pauses the acceptor after a failed accept of a connection, the failure may persist until some connections are closed.
+     * @param channel the server channel which failed to accept
+     * @return true if the acceptor keeps accepting, false if the channel is closed or the acceptor is interrupted
+     */
+    static boolean backOff(ServerSocketChannel channel) {
+        if (!channel.isOpen()) {
+            return false;
+        }
+        try {
+            Thread.sleep(ACCEPT_BACKOFF_MILLIS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return channel.isOpen();
+    }
+
+    /**
+     * Checks if the file is a socket, or at least neither a regular file, a directory nor a link where the type of the file is not available.
+     * @param file the existing file
+     * @return true if the file is a socket, false otherwise
+     * @throws IOException If the attributes of the file cannot be read.
+     */
+    private static boolean isSocket(Path file) throws IOException {
+        try {
+            return ((Integer) Files.getAttribute(file, "unix:mode", LinkOption.NOFOLLOW_LINKS) & TYPE_MASK) == TYPE_SOCKET;
+        }
+        catch (UnsupportedOperationException | IllegalArgumentException e) {
+            return Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isOther();
+        }
+    }
+
+    /**
+     * Checks if a server listens on the socket by connecting to it.
+     * @param socket path of the socket file
+     * @return true if the connection is accepted, false otherwise
+     */
+    private static boolean isListening(Path socket) {
+        try {
+            SocketChannel.open(UnixDomainSocketAddress.of(socket)).close();
+            return true;
+        }
+        catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package clap;
+
+import jdk.jfr.*;
+
+/**
+ * The Flight Recorder event of the validation of the values of an argument, its duration is the time spent in the validator.
+ * It is disabled by default, and it can be enabled in the recording settings by its name {@code clap.Validation}.
+ */
+@Name("clap.Validation")
+@Label("Argument Validation")
+@Category("Command Line Argument Parser")
+@Description("Validation of the values of an argument")
+@Enabled(false)
+@StackTrace(false)
+final class ValidationEvent extends Event {
+    @Label("Argument")
+    @Description("Names of the argument")
+    String argument;
+
+    @Label("Values")
+    @Description("Number of the validated values")
+    int values;
+
+    @Label("Valid")
+    @Description("Whether all values are valid")
+    boolean valid;
+}
@@ -12,6 +12,11 @@ public final class ArgumentBuilder<T extends SimpleArgument> {
      */
     private final T argument;
 
+    /**
+     * Notified when a name or the description of the argument changes.
+     */
+    private final Runnable onChange;
+
     /**
      * If the builder has finished, it cannot be used again.
      */
@@ -23,6 +28,22 @@ public final class ArgumentBuilder<T extends SimpleArgument> {
      */
     public ArgumentBuilder(T argument) {
         this.argument = argument;
+        this.onChange = () -> { };
+    }
+
+    /**
+     * The constructor of the builder, which reports the changes of the argument, e.g. to discard the rendered help.
+     * The argument reports the changes of its configuration, e.g. a new separator, to the same listener.
+     * @param argument The argument that is being built
+     * @param onChange Notified when a name, the description or the configuration of the argument changes
+     */
+    public ArgumentBuilder(T argument, Runnable onChange) {
+        if (onChange == null) {
+            throw new IllegalArgumentException("Change listener cannot be null!");
+        }
+        this.argument = argument;
+        this.onChange = onChange;
+        argument.onChange = onChange;
     }
 
     /**
@@ -37,6 +58,7 @@ public final class ArgumentBuilder<T extends SimpleArgument> {
         }
         checkNameIsValid(name);
         argument.names.add(name);
+        onChange.run();
         return this;
     }
 
@@ -83,6 +105,7 @@ public final class ArgumentBuilder<T extends SimpleArgument> {
             throw new ArgumentException("The builder has already finished.");
         }
         argument.description = description;
+        onChange.run();
         return this;
     }
 
@@ -0,0 +1,147 @@
+package clap.arguments;
+
+import clap.exceptions.ArgumentException;
+
+/**
+ * The syntax of the command line arguments and of their values.
+ * It is shared by the arguments and by the parsers generated by {@link clap.generator.ParserProcessor}.
+ */
+public final class ArgumentSyntax {
+    private ArgumentSyntax() {
+    }
+
+    /**
+     * Strips at most two leading dashes from the argument name.
+     * @param argName The name of the argument as written on the command line
+     * @return The name without leading dashes
+     */
+    public static String stripDashes(String argName) {
+        return argName.substring(countDashes(argName));
+    }
+
+    /**
+     * Counts the leading dashes which are not a part of the argument name, there are at most two of them.
+     * @param argName The name of the argument as written on the command line
+     * @return The index of the first character of the name
+     */
+    public static int countDashes(String argName) {
+        int start = 0;
+        while (start < 2 && start < argName.length() && argName.charAt(start) == '-') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Splits the string values of a parameter like {@link StringArgument}.
+     * @param value string of the values
+     * @param hasMultipleParams whether the value is split at all
+     * @param separator separator of the values
+     * @return the values
+     */
+    public static String[] toStrings(String value, boolean hasMultipleParams, char separator) {
+        int[] bounds = ParamsArgument.splitValue(value, hasMultipleParams, separator);
+        String[] values = new String[bounds.length - 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = value.substring(bounds[i] + 1, bounds[i + 1]);
+        }
+        return values;
+    }
+
+    /**
+     * Converts a single int value of a parameter like {@link IntegerArgument}.
+     * @param value string of the value
+     * @param extended whether hexadecimal values with prefix 0x and underscores between digits are accepted
+     * @return the value
+     * @throws ArgumentException If the value is not a valid int value.
+     */
+    public static int toInt(String value, boolean extended) throws ArgumentException {
+        long parsedValue = NumberParser.parseInt(value, 0, value.length(), extended);
+        if (parsedValue == NumberParser.INVALID) {
+            throw new ArgumentException("Cannot parse to int value: " + value);
+        }
+        return (int) parsedValue;
+    }
+
+    /**
+     * Splits and converts the int values of a parameter like {@link IntegerArgument}.
+     * @param value string of the values
+     * @param hasMultipleParams whether the value is split at all
+     * @param separator separator of the values
+     * @param extended whether hexadecimal values with prefix 0x and underscores between digits are accepted
+     * @return the values
+     * @throws ArgumentException If a value is not a valid int value.
+     */
+    public static int[] toInts(String value, boolean hasMultipleParams, char separator, boolean extended) throws ArgumentException {
+        int[] bounds = ParamsArgument.splitValue(value, hasMultipleParams, separator);
+        int[] values = new int[bounds.length - 1];
+        for (int i = 0; i < values.length; i++) {
+            long parsedValue = NumberParser.parseInt(value, bounds[i] + 1, bounds[i + 1], extended);
+            if (parsedValue == NumberParser.INVALID) {
+                throw new ArgumentException("Cannot parse to int value: " + value.substring(bounds[i] + 1, bounds[i + 1]));
+            }
+            values[i] = (int) parsedValue;
+        }
+        return values;
+    }
+
+    /**
+     * Converts a single long value of a parameter like {@link LongArgument}.
+     * @param value string of the value
+     * @param extended whether hexadecimal values with prefix 0x and underscores between digits are accepted
+     * @return the value
+     * @throws ArgumentException If the value is not a valid long value.
+     */
+    public static long toLong(String value, boolean extended) throws ArgumentException {
+        return toLongs(value, false, ' ', extended)[0];
+    }
+
+    /**
+     * Splits and converts the long values of a parameter like {@link LongArgument}.
+     * @param value string of the values
+     * @param hasMultipleParams whether the value is split at all
+     * @param separator separator of the values
+     * @param extended whether hexadecimal values with prefix 0x and underscores between digits are accepted
+     * @return the values
+     * @throws ArgumentException If a value is not a valid long value.
+     */
+    public static long[] toLongs(String value, boolean hasMultipleParams, char separator, boolean extended) throws ArgumentException {
+        int[] bounds = ParamsArgument.splitValue(value, hasMultipleParams, separator);
+        long[] values = new long[bounds.length - 1];
+        for (int i = 0; i < values.length; i++) {
+            if (!NumberParser.parseLong(value, bounds[i] + 1, bounds[i + 1], extended, values, i)) {
+                throw new ArgumentException("Cannot parse to long value: " + value.substring(bounds[i] + 1, bounds[i + 1]));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Converts a single double value of a parameter like {@link DoubleArgument}.
+     * @param value string of the value
+     * @return the value
+     * @throws ArgumentException If the value is not a valid double value.
+     */
+    public static double toDouble(String value) throws ArgumentException {
+        return toDoubles(value, false, ' ')[0];
+    }
+
+    /**
+     * Splits and converts the double values of a parameter like {@link DoubleArgument}.
+     * @param value string of the values
+     * @param hasMultipleParams whether the value is split at all
+     * @param separator separator of the values
+     * @return the values
+     * @throws ArgumentException If a value is not a valid double value.
+     */
+    public static double[] toDoubles(String value, boolean hasMultipleParams, char separator) throws ArgumentException {
+        int[] bounds = ParamsArgument.splitValue(value, hasMultipleParams, separator);
+        double[] values = new double[bounds.length - 1];
+        for (int i = 0; i < values.length; i++) {
+            if (!NumberParser.parseDouble(value, bounds[i] + 1, bounds[i + 1], values, i)) {
+                throw new ArgumentException("Cannot parse to double value: " + value.substring(bounds[i] + 1, bounds[i + 1]));
+            }
+        }
+        return values;
+    }
+}
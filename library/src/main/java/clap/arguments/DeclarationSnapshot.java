@@ -0,0 +1,318 @@
+package clap.arguments;
+
+import clap.Manager;
+import clap.exceptions.ArgumentException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The binary snapshot of the declared arguments, it is written by {@link Manager#exportSnapshot(Path)}
+ * and read by {@link Manager#loadSnapshot(Path, String[])}. The names are checked when they are declared,
+ * so the snapshot is read from a memory-mapped file without checking them again, only the version and the checksum are verified.
+ * The hash table of the names is stored in the snapshot as well and the names are looked up in the mapped file,
+ * so nothing is indexed again on loading.
+ * <p>
+ * The file starts with a header of the magic number {@code CLAP}, the version, the number of the arguments,
+ * the length of the payload and the CRC32 checksum of the payload. Each argument in the payload is its type, its flags,
+ * the separator, the parallel threshold, the names and the description, the strings are stored as UTF-8 bytes prefixed by their number.
+ * The arguments are followed by the number of the buckets of the hash table and the buckets, each bucket holds
+ * the index of an argument plus one, or 0 if it is empty.
+ * Validators are code, so they are not a part of the snapshot and they have to be set again after loading.
+ */
+public final class DeclarationSnapshot {
+    private static final int MAGIC = 0x434C4150;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+    private static final byte SIMPLE = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+
+    private static final int MULTIPLE_PARAMS = 1;
+    private static final int REQUIRED = 1 << 1;
+    private static final int LAZY = 1 << 2;
+    private static final int EXTENDED_SYNTAX = 1 << 3;
+    private static final int DESCRIBED = 1 << 4;
+
+    /**
+     * The loaded arguments in the order of their definition.
+     */
+    private final List<SimpleArgument> arguments;
+    /**
+     * The hash table of the names, a view of the mapped file.
+     */
+    private final IntBuffer buckets;
+
+    private DeclarationSnapshot(List<SimpleArgument> arguments, IntBuffer buckets) {
+        this.arguments = Collections.unmodifiableList(arguments);
+        this.buckets = buckets;
+    }
+
+    /**
+     * Returns the loaded arguments.
+     * @return unmodifiable list of the arguments in the order of their definition
+     */
+    public List<SimpleArgument> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Finds the loaded argument with the name.
+     * @param name name of the argument
+     * @return index of the argument in {@link #getArguments()}, -1 if no loaded argument has the name
+     */
+    public int indexOf(String name) {
+        int mask = buckets.limit() - 1;
+        int bucket = hash(name) & mask;
+        int entry;
+        while ((entry = buckets.get(bucket)) != 0) {
+            if (arguments.get(entry - 1).names.contains(name)) {
+                return entry - 1;
+            }
+            bucket = (bucket + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Writes the snapshot of the arguments.
+     * @param arguments the declared arguments in the order of their definition
+     * @param file the snapshot file, it is replaced if it exists
+     * @throws ArgumentException If an argument is not of a built-in type.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(List<SimpleArgument> arguments, Path file) throws ArgumentException, IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(bytes);
+        int namesCount = 0;
+        for (SimpleArgument argument : arguments) {
+            writeArgument(argument, payload);
+            namesCount += argument.names.size();
+        }
+        // at most a half of the buckets is used, so the probing stays short
+        int[] buckets = new int[Integer.highestOneBit(Math.max(namesCount, 1)) << 2];
+        int mask = buckets.length - 1;
+        for (int i = 0; i < arguments.size(); i++) {
+            for (String name : arguments.get(i).names) {
+                int bucket = hash(name) & mask;
+                while (buckets[bucket] != 0) {
+                    bucket = (bucket + 1) & mask;
+                }
+                buckets[bucket] = i + 1;
+            }
+        }
+        payload.writeInt(buckets.length);
+        for (int bucket : buckets) {
+            payload.writeInt(bucket);
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes.toByteArray());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(arguments.size()).putInt(bytes.size()).putInt((int) checksum.getValue());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            header.flip();
+            ByteBuffer body = ByteBuffer.wrap(bytes.toByteArray());
+            while (header.hasRemaining() || body.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, body});
+            }
+        }
+    }
+
+    /**
+     * Writes a single argument.
+     * @param argument the argument
+     * @param payload the payload
+     * @throws ArgumentException If the argument is not of a built-in type.
+     * @throws IOException If the payload cannot be written.
+     */
+    private static void writeArgument(SimpleArgument argument, DataOutputStream payload) throws ArgumentException, IOException {
+        Class<?> type = argument.getClass();
+        int flags = argument.description == null ? 0 : DESCRIBED;
+        char separator = 0;
+        int parallelThreshold = 0;
+        if (argument instanceof ParamsArgument) {
+            ParamsArgument<?> params = (ParamsArgument<?>) argument;
+            flags |= (params.hasMultipleParams ? MULTIPLE_PARAMS : 0) | (params.required ? REQUIRED : 0) | (params.lazy ? LAZY : 0);
+            separator = params.separator;
+            parallelThreshold = params.parallelThreshold;
+        }
+        if (type == SimpleArgument.class) {
+            payload.writeByte(SIMPLE);
+        }
+        else if (type == StringArgument.class) {
+            payload.writeByte(STRING);
+        }
+        else if (type == IntegerArgument.class) {
+            payload.writeByte(INTEGER);
+            flags |= ((IntegerArgument) argument).extendedSyntax ? EXTENDED_SYNTAX : 0;
+        }
+        else if (type == LongArgument.class) {
+            payload.writeByte(LONG);
+            flags |= ((LongArgument) argument).extendedSyntax ? EXTENDED_SYNTAX : 0;
+        }
+        else if (type == DoubleArgument.class) {
+            payload.writeByte(DOUBLE);
+        }
+        else {
+            throw new ArgumentException("Argument type " + type.getName() + " cannot be exported!");
+        }
+        payload.writeByte(flags);
+        payload.writeChar(separator);
+        payload.writeInt(parallelThreshold);
+        payload.writeInt(argument.names.size());
+        for (String name : argument.names) {
+            writeChars(name, payload);
+        }
+        if (argument.description != null) {
+            writeChars(argument.description, payload);
+        }
+    }
+
+    /**
+     * Writes a string as its length in bytes followed by its UTF-8 bytes.
+     * @param value the string
+     * @param payload the payload
+     * @throws IOException If the payload cannot be written.
+     */
+    private static void writeChars(String value, DataOutputStream payload) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        payload.writeInt(bytes.length);
+        payload.write(bytes);
+    }
+
+    /**
+     * Reads the arguments from the snapshot. The arguments are owned by the manager, but they are not added to it.
+     * @param file the snapshot file
+     * @param owner the manager of the arguments
+     * @param onChange notified when the configuration of a loaded argument changes
+     * @return the loaded snapshot
+     * @throws IOException If the file cannot be read, or it is not a snapshot of a supported version, or it is corrupted.
+     */
+    public static DeclarationSnapshot read(Path file, Manager owner, Runnable onChange) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("File " + file + " is not a snapshot of arguments!");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        int count = buffer.getInt();
+        int length = buffer.getInt();
+        int expectedChecksum = buffer.getInt();
+        if (length != buffer.remaining()) {
+            throw new IOException("Snapshot " + file + " is truncated!");
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.duplicate());
+        if ((int) checksum.getValue() != expectedChecksum) {
+            throw new IOException("Snapshot " + file + " is corrupted!");
+        }
+
+        List<SimpleArgument> arguments = new ArrayList<>(count);
+        byte[] scratch = new byte[256];
+        for (int i = 0; i < count; i++) {
+            SimpleArgument argument = readArgument(buffer, scratch, owner);
+            argument.onChange = onChange;
+            arguments.add(argument);
+        }
+        int bucketsCount = buffer.getInt();
+        IntBuffer buckets = buffer.slice().asIntBuffer();
+        buckets.limit(bucketsCount);
+        return new DeclarationSnapshot(arguments, buckets);
+    }
+
+    /**
+     * Reads a single argument without checking it.
+     * @param buffer the payload
+     * @param scratch buffer for the bytes of the strings
+     * @param owner the manager of the argument
+     * @return the argument
+     */
+    private static SimpleArgument readArgument(ByteBuffer buffer, byte[] scratch, Manager owner) {
+        byte type = buffer.get();
+        int flags = buffer.get();
+        char separator = buffer.getChar();
+        int parallelThreshold = buffer.getInt();
+        SimpleArgument argument;
+        switch (type) {
+            case STRING:
+                argument = new StringArgument(owner);
+                break;
+            case INTEGER:
+                IntegerArgument integerArgument = new IntegerArgument(owner);
+                integerArgument.extendedSyntax = (flags & EXTENDED_SYNTAX) != 0;
+                argument = integerArgument;
+                break;
+            case LONG:
+                LongArgument longArgument = new LongArgument(owner);
+                longArgument.extendedSyntax = (flags & EXTENDED_SYNTAX) != 0;
+                argument = longArgument;
+                break;
+            case DOUBLE:
+                argument = new DoubleArgument(owner);
+                break;
+            default:
+                argument = new SimpleArgument(owner);
+        }
+        if (argument instanceof ParamsArgument) {
+            ParamsArgument<?> params = (ParamsArgument<?>) argument;
+            params.hasMultipleParams = (flags & MULTIPLE_PARAMS) != 0;
+            params.required = (flags & REQUIRED) != 0;
+            params.lazy = (flags & LAZY) != 0;
+            params.separator = separator;
+            params.parallelThreshold = parallelThreshold;
+        }
+        int namesCount = buffer.getInt();
+        argument.names = new ArrayList<>(namesCount);
+        for (int i = 0; i < namesCount; i++) {
+            argument.names.add(readChars(buffer, scratch));
+        }
+        if ((flags & DESCRIBED) != 0) {
+            argument.description = readChars(buffer, scratch);
+        }
+        return argument;
+    }
+
+    /**
+     * Reads a string stored as its length in bytes followed by its UTF-8 bytes.
+     * @param buffer the payload
+     * @param scratch buffer for the bytes, a longer string gets its own
+     * @return the string
+     */
+    private static String readChars(ByteBuffer buffer, byte[] scratch) {
+        int length = buffer.getInt();
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        buffer.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Spreads the higher bits of {@link String#hashCode()}, which is specified and so it is stable between runs.
+     * @param name the name
+     * @return hash of the name
+     */
+    private static int hash(String name) {
+        int hash = name.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,170 @@
+package clap.arguments;
+
+import clap.exceptions.ArgumentException;
+import clap.DoubleValidator;
+import clap.Manager;
+import clap.Validator;
+
+/**
+ * Class to represent an argument with double parameters
+ */
+public final class DoubleArgument extends ParamsArgument<Double> {
+    /**
+     * The validator of the parameters without boxing, it replaces {@link #validator}.
+     */
+    DoubleValidator doubleValidator;
+
+    /**
+     * Constructor for DoubleArgument
+     * @param owner Manager that owns this argument
+     */
+    public DoubleArgument(Manager owner) {
+        super(owner);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double getValue(int index) throws ArgumentException {
+        return resultWithValue(index).getValue(this, index);
+    }
+
+    /**
+     * Get the value of the parameter on the given index (zero based) without boxing.
+     * @param index given index of the value
+     * @return value of the parameter
+     * @throws ArgumentException If parsing fails.
+     */
+    public double getDouble(int index) throws ArgumentException {
+        return resultWithValue(index).getDouble(this, index);
+    }
+
+    /**
+     * Get a copy of all values of the parameter.
+     * @return values of the parameter, empty if the argument is not set
+     * @throws ArgumentException If parsing fails.
+     */
+    public double[] toDoubleArray() throws ArgumentException {
+        return resultWithValues().toDoubleArray(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    ValueConverter converter() {
+        return new Converter(this);
+    }
+
+    /**
+     * Converter of the double values, it captures the configuration of the argument.
+     */
+    private static final class Converter extends ArrayConverter<double[]> {
+        private final Validator<Double> validator;
+        private final DoubleValidator doubleValidator;
+
+        Converter(DoubleArgument argument) {
+            super(argument, "double");
+            this.validator = argument.validator;
+            this.doubleValidator = argument.doubleValidator;
+        }
+
+        @Override
+        double[] newArray(int length) {
+            return new double[length];
+        }
+
+        @Override
+        boolean parseValue(String value, int start, int end, double[] values, int index) {
+            return NumberParser.parseDouble(value, start, end, values, index);
+        }
+
+        @Override
+        boolean hasValidator() {
+            return validator != null || doubleValidator != null;
+        }
+
+        @Override
+        boolean validateValue(double[] values, int index) {
+            return (doubleValidator == null || doubleValidator.validate(values[index])) && (validator == null || validator.validate(values[index]));
+        }
+    }
+
+    /**
+     * Sets validator for this argument.
+     * @param validator validator that will be used
+     * @return this instance
+     */
+    public DoubleArgument setValidator(Validator<Double> validator) {
+        this.validator = validator;
+        this.doubleValidator = null;
+        changed();
+        return this;
+    }
+
+    /**
+     * Sets validator for this argument, which validates the values without boxing.
+     * @param validator validator that will be used
+     * @return this instance
+     */
+    public DoubleArgument setDoubleValidator(DoubleValidator validator) {
+        this.doubleValidator = validator;
+        this.validator = null;
+        changed();
+        return this;
+    }
+
+    /**
+     * Sets separator for this argument.
+     * @param separator separator that will be used, cannot be a whitespace character
+     * @return this instance
+     * @throws ArgumentException If the separator is a whitespace character.
+     */
+    public DoubleArgument setSeparator(char separator) throws ArgumentException {
+        if (separator == ' ') {
+            throw new ArgumentException("Separator cannot be a space character");
+        }
+        this.separator = separator;
+        hasMultipleParams = true;
+        changed();
+        return this;
+    }
+
+    /**
+     * Converts and validates the values on the first access rather than while parsing.
+     * An invalid value is reported when it is accessed or when {@link Manager#validateAll()} is called.
+     * @return this instance
+     */
+    public DoubleArgument convertLazily() {
+        lazy = true;
+        changed();
+        return this;
+    }
+
+    /**
+     * Converts and validates the values on the common fork-join pool if there are at least the given number of values.
+     * The values and the reported failure are the same as in the sequential conversion, but the validator must be thread-safe.
+     * @param threshold the least number of the values converted in parallel
+     * @return this instance
+     * @throws ArgumentException If the threshold is not positive.
+     */
+    public DoubleArgument convertInParallel(int threshold) throws ArgumentException {
+        if (threshold < 1) {
+            throw new ArgumentException("Parallel threshold must be positive");
+        }
+        parallelThreshold = threshold;
+        changed();
+        return this;
+    }
+
+    /**
+     * Sets this argument as required.
+     * @return this instance
+     */
+    public DoubleArgument required() {
+        required = true;
+        changed();
+        return this;
+    }
+}
@@ -1,6 +1,7 @@
 package clap.arguments;
 
 import clap.exceptions.ArgumentException;
+import clap.IntValidator;
 import clap.Manager;
 import clap.Validator;
 
@@ -8,6 +9,15 @@ import clap.Validator;
  * Class to represent Integer argument
  */
 public final class IntegerArgument extends ParamsArgument<Integer> {
+    /**
+     * The validator of the parameters without boxing, it replaces {@link #validator}.
+     */
+    IntValidator intValidator;
+
+    /**
+     * The flag if hexadecimal values and underscores between digits are accepted.
+     */
+    boolean extendedSyntax = false;
 
     /**
      * Constructor for IntegerArgument
@@ -21,30 +31,73 @@ public final class IntegerArgument extends ParamsArgument<Integer> {
      * {@inheritDoc}
      */
     @Override
-    public void setValue(String value) throws ArgumentException {
-        String[] values = splitValue(value);
-        Integer[] intValues = parseValues(values);
-        validateValues(intValues);
-        parameters = intValues;
-        argIsSet = true;
+    public Integer getValue(int index) throws ArgumentException {
+        return resultWithValue(index).getValue(this, index);
+    }
+
+    /**
+     * Get the value of the parameter on the given index (zero based) without boxing.
+     * @param index given index of the value
+     * @return value of the parameter
+     * @throws ArgumentException If parsing fails.
+     */
+    public int getInt(int index) throws ArgumentException {
+        return resultWithValue(index).getInt(this, index);
     }
 
     /**
-     * Parses values to Integer.
-     * @param values values to parse
-     * @return parsed values
+     * Get a copy of all values of the parameter.
+     * @return values of the parameter, empty if the argument is not set
+     * @throws ArgumentException If parsing fails.
+     */
+    public int[] toIntArray() throws ArgumentException {
+        return resultWithValues().toIntArray(this);
+    }
+
+    /**
+     * {@inheritDoc}
      */
-    private Integer[] parseValues(String[] values) throws ArgumentException {
-        Integer[] parsedValues = new Integer[values.length];
-        for (int i = 0; i < values.length; i++) {
-            try {
-                parsedValues[i] = Integer.parseInt(values[i]);
-            }
-            catch (NumberFormatException e) {
-                throw new ArgumentException("Cannot parse to int value: " + values[i]);
-            }
+    @Override
+    ValueConverter converter() {
+        return new Converter(this);
+    }
+
+    /**
+     * Converter of the int values, it captures the configuration of the argument.
+     */
+    private static final class Converter extends ArrayConverter<int[]> {
+        private final Validator<Integer> validator;
+        private final IntValidator intValidator;
+        private final boolean extendedSyntax;
+
+        Converter(IntegerArgument argument) {
+            super(argument, "int");
+            this.validator = argument.validator;
+            this.intValidator = argument.intValidator;
+            this.extendedSyntax = argument.extendedSyntax;
+        }
+
+        @Override
+        int[] newArray(int length) {
+            return new int[length];
+        }
+
+        @Override
+        boolean parseValue(String value, int start, int end, int[] values, int index) {
+            long parsedValue = NumberParser.parseInt(value, start, end, extendedSyntax);
+            values[index] = (int) parsedValue;
+            return parsedValue != NumberParser.INVALID;
+        }
+
+        @Override
+        boolean hasValidator() {
+            return validator != null || intValidator != null;
+        }
+
+        @Override
+        boolean validateValue(int[] values, int index) {
+            return (intValidator == null || intValidator.validate(values[index])) && (validator == null || validator.validate(values[index]));
         }
-        return parsedValues;
     }
 
     /**
@@ -54,6 +107,20 @@ public final class IntegerArgument extends ParamsArgument<Integer> {
      */
     public IntegerArgument setValidator(Validator<Integer> validator) {
         this.validator = validator;
+        this.intValidator = null;
+        changed();
+        return this;
+    }
+
+    /**
+     * Sets validator for this argument, which validates the values without boxing.
+     * @param validator validator that will be used
+     * @return this instance
+     */
+    public IntegerArgument setIntValidator(IntValidator validator) {
+        this.intValidator = validator;
+        this.validator = null;
+        changed();
         return this;
     }
 
@@ -69,6 +136,44 @@ public final class IntegerArgument extends ParamsArgument<Integer> {
         }
         this.separator = separator;
         hasMultipleParams = true;
+        changed();
+        return this;
+    }
+
+    /**
+     * Accepts hexadecimal values with prefix 0x and underscores between digits, e.g. 0xFF or 1_000.
+     * @return this instance
+     */
+    public IntegerArgument allowExtendedSyntax() {
+        extendedSyntax = true;
+        changed();
+        return this;
+    }
+
+    /**
+     * Converts and validates the values on the first access rather than while parsing.
+     * An invalid value is reported when it is accessed or when {@link Manager#validateAll()} is called.
+     * @return this instance
+     */
+    public IntegerArgument convertLazily() {
+        lazy = true;
+        changed();
+        return this;
+    }
+
+    /**
+     * Converts and validates the values on the common fork-join pool if there are at least the given number of values.
+     * The values and the reported failure are the same as in the sequential conversion, but the validator must be thread-safe.
+     * @param threshold the least number of the values converted in parallel
+     * @return this instance
+     * @throws ArgumentException If the threshold is not positive.
+     */
+    public IntegerArgument convertInParallel(int threshold) throws ArgumentException {
+        if (threshold < 1) {
+            throw new ArgumentException("Parallel threshold must be positive");
+        }
+        parallelThreshold = threshold;
+        changed();
         return this;
     }
 
@@ -78,6 +183,7 @@ public final class IntegerArgument extends ParamsArgument<Integer> {
      */
     public IntegerArgument required() {
         required = true;
+        changed();
         return this;
     }
 }
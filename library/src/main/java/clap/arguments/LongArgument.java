@@ -0,0 +1,187 @@
+package clap.arguments;
+
+import clap.exceptions.ArgumentException;
+import clap.LongValidator;
+import clap.Manager;
+import clap.Validator;
+
+/**
+ * Class to represent an argument with long parameters
+ */
+public final class LongArgument extends ParamsArgument<Long> {
+    /**
+     * The validator of the parameters without boxing, it replaces {@link #validator}.
+     */
+    LongValidator longValidator;
+
+    /**
+     * The flag if hexadecimal values and underscores between digits are accepted.
+     */
+    boolean extendedSyntax = false;
+
+    /**
+     * Constructor for LongArgument
+     * @param owner Manager that owns this argument
+     */
+    public LongArgument(Manager owner) {
+        super(owner);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getValue(int index) throws ArgumentException {
+        return resultWithValue(index).getValue(this, index);
+    }
+
+    /**
+     * Get the value of the parameter on the given index (zero based) without boxing.
+     * @param index given index of the value
+     * @return value of the parameter
+     * @throws ArgumentException If parsing fails.
+     */
+    public long getLong(int index) throws ArgumentException {
+        return resultWithValue(index).getLong(this, index);
+    }
+
+    /**
+     * Get a copy of all values of the parameter.
+     * @return values of the parameter, empty if the argument is not set
+     * @throws ArgumentException If parsing fails.
+     */
+    public long[] toLongArray() throws ArgumentException {
+        return resultWithValues().toLongArray(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    ValueConverter converter() {
+        return new Converter(this);
+    }
+
+    /**
+     * Converter of the long values, it captures the configuration of the argument.
+     */
+    private static final class Converter extends ArrayConverter<long[]> {
+        private final Validator<Long> validator;
+        private final LongValidator longValidator;
+        private final boolean extendedSyntax;
+
+        Converter(LongArgument argument) {
+            super(argument, "long");
+            this.validator = argument.validator;
+            this.longValidator = argument.longValidator;
+            this.extendedSyntax = argument.extendedSyntax;
+        }
+
+        @Override
+        long[] newArray(int length) {
+            return new long[length];
+        }
+
+        @Override
+        boolean parseValue(String value, int start, int end, long[] values, int index) {
+            return NumberParser.parseLong(value, start, end, extendedSyntax, values, index);
+        }
+
+        @Override
+        boolean hasValidator() {
+            return validator != null || longValidator != null;
+        }
+
+        @Override
+        boolean validateValue(long[] values, int index) {
+            return (longValidator == null || longValidator.validate(values[index])) && (validator == null || validator.validate(values[index]));
+        }
+    }
+
+    /**
+     * Sets validator for this argument.
+     * @param validator validator that will be used
+     * @return this instance
+     */
+    public LongArgument setValidator(Validator<Long> validator) {
+        this.validator = validator;
+        this.longValidator = null;
+        changed();
+        return this;
+    }
+
+    /**
+     * Sets validator for this argument, which validates the values without boxing.
+     * @param validator validator that will be used
+     * @return this instance
+     */
+    public LongArgument setLongValidator(LongValidator validator) {
+        this.longValidator = validator;
+        this.validator = null;
+        changed();
+        return this;
+    }
+
+    /**
+     * Sets separator for this argument.
+     * @param separator separator that will be used, cannot be a whitespace character
+     * @return this instance
+     * @throws ArgumentException If the separator is a whitespace character.
+     */
+    public LongArgument setSeparator(char separator) throws ArgumentException {
+        if (separator == ' ') {
+            throw new ArgumentException("Separator cannot be a space character");
+        }
+        this.separator = separator;
+        hasMultipleParams = true;
+        changed();
+        return this;
+    }
+
+    /**
+     * Accepts hexadecimal values with prefix 0x and underscores between digits, e.g. 0xFF or 1_000.
+     * @return this instance
+     */
+    public LongArgument allowExtendedSyntax() {
+        extendedSyntax = true;
+        changed();
+        return this;
+    }
+
+    /**
+     * Converts and validates the values on the first access rather than while parsing.
+     * An invalid value is reported when it is accessed or when {@link Manager#validateAll()} is called.
+     * @return this instance
+     */
+    public LongArgument convertLazily() {
+        lazy = true;
+        changed();
+        return this;
+    }
+
+    /**
+     * Converts and validates the values on the common fork-join pool if there are at least the given number of values.
+     * The values and the reported failure are the same as in the sequential conversion, but the validator must be thread-safe.
+     * @param threshold the least number of the values converted in parallel
+     * @return this instance
+     * @throws ArgumentException If the threshold is not positive.
+     */
+    public LongArgument convertInParallel(int threshold) throws ArgumentException {
+        if (threshold < 1) {
+            throw new ArgumentException("Parallel threshold must be positive");
+        }
+        parallelThreshold = threshold;
+        changed();
+        return this;
+    }
+
+    /**
+     * Sets this argument as required.
+     * @return this instance
+     */
+    public LongArgument required() {
+        required = true;
+        changed();
+        return this;
+    }
+}
@@ -0,0 +1,184 @@
+package clap.arguments;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Suggests argument names close to an unknown name, e.g. {@code --port} for {@code --prot}.
+ * The names are kept in a BK-tree ordered by the Levenshtein distance, so a lookup visits only the subtrees
+ * which can contain a name within the bounded distance. It is shared by {@link clap.Schema} and by the parsers
+ * generated by {@link clap.generator.ParserProcessor}, both build it on the first unknown name.
+ */
+public final class NameSuggestions {
+    /**
+     * The maximal number of the suggested names.
+     */
+    private static final int LIMIT = 3;
+
+    /**
+     * The name of each node of the tree, the first name is the root.
+     */
+    private final String[] names;
+    /**
+     * The distance of each node from its parent.
+     */
+    private final int[] distances;
+    /**
+     * The first child of each node, -1 if the node is a leaf.
+     */
+    private final int[] firstChildren;
+    /**
+     * The next sibling of each node, -1 if the node is the last child.
+     */
+    private final int[] nextSiblings;
+    private int size = 0;
+
+
+    /**
+     * Builds the tree of the names.
+     * @param names names of the arguments without leading dashes
+     */
+    public NameSuggestions(List<String> names) {
+        if (names == null) {
+            throw new IllegalArgumentException("Names cannot be null!");
+        }
+        this.names = new String[names.size()];
+        distances = new int[names.size()];
+        firstChildren = new int[names.size()];
+        nextSiblings = new int[names.size()];
+        for (String name : names) {
+            insert(name);
+        }
+    }
+
+
+    /**
+     * Inserts the name unless it is already present.
+     * @param name the name
+     */
+    private void insert(String name) {
+        if (size == 0) {
+            add(name, 0);
+            return;
+        }
+        int node = 0;
+        while (true) {
+            int distance = distance(name, names[node]);
+            if (distance == 0) {
+                return;
+            }
+            int child = firstChildren[node];
+            while (child >= 0 && distances[child] != distance) {
+                child = nextSiblings[child];
+            }
+            if (child < 0) {
+                int created = add(name, distance);
+                nextSiblings[created] = firstChildren[node];
+                firstChildren[node] = created;
+                return;
+            }
+            node = child;
+        }
+    }
+
+
+    /**
+     * Adds a new node.
+     * @param name name of the node
+     * @param distance distance of the node from its parent
+     * @return index of the node
+     */
+    private int add(String name, int distance) {
+        int node = size++;
+        names[node] = name;
+        distances[node] = distance;
+        firstChildren[node] = -1;
+        nextSiblings[node] = -1;
+        return node;
+    }
+
+
+    /**
+     * Finds the names close to the given name. The allowed distance is two, one for names of three characters,
+     * and shorter names get no suggestions.
+     * @param name the unknown name without leading dashes
+     * @return at most three names, the closest ones first
+     */
+    public List<String> suggest(String name) {
+        int bound = name.length() < 3 ? 0 : name.length() < 4 ? 1 : 2;
+        List<String> suggestions = new ArrayList<>();
+        if (size == 0 || bound == 0) {
+            return suggestions;
+        }
+        List<List<String>> byDistance = new ArrayList<>();
+        for (int i = 0; i <= bound; i++) {
+            byDistance.add(new ArrayList<>());
+        }
+        int[] stack = new int[size];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int distance = distance(name, names[node]);
+            if (distance <= bound) {
+                byDistance.get(distance).add(names[node]);
+            }
+            for (int child = firstChildren[node]; child >= 0; child = nextSiblings[child]) {
+                if (Math.abs(distances[child] - distance) <= bound) {
+                    stack[top++] = child;
+                }
+            }
+        }
+        for (List<String> found : byDistance) {
+            Collections.sort(found);
+            suggestions.addAll(found.subList(0, Math.min(found.size(), LIMIT - suggestions.size())));
+        }
+        return suggestions;
+    }
+
+
+    /**
+     * Builds the message of an unknown argument name with the suggested names.
+     * @param token the unknown name as written on the command line
+     * @return description of the failure
+     */
+    public String describeUnknownArgument(String token) {
+        int dashes = ArgumentSyntax.countDashes(token);
+        List<String> suggestions = suggest(token.substring(dashes));
+        StringBuilder message = new StringBuilder("Unknown argument name ").append(token);
+        for (int i = 0; i < suggestions.size(); i++) {
+            message.append(i == 0 ? ", did you mean " : " or ").append(token, 0, dashes).append(suggestions.get(i));
+        }
+        if (!suggestions.isEmpty()) {
+            message.append('?');
+        }
+        return message.toString();
+    }
+
+
+    /**
+     * Computes the Levenshtein distance of the names.
+     * @param first the first name
+     * @param second the second name
+     * @return the least number of inserted, deleted or replaced characters turning one name into the other
+     */
+    static int distance(String first, String second) {
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= second.length(); j++) {
+                int replaced = previous[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(replaced, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()];
+    }
+}
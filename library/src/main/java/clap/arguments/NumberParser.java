@@ -0,0 +1,279 @@
+package clap.arguments;
+
+/**
+ * Converts ranges of characters to numbers without creating substrings and without throwing exceptions.
+ */
+final class NumberParser {
+    /**
+     * The result of {@link #parseInt(CharSequence, int, int, boolean)} if the characters are not a valid int value.
+     */
+    static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * The powers of ten, which are exactly representable as double values.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * The most significant digits of a double value which are converted exactly.
+     */
+    private static final int EXACT_DIGITS = 15;
+
+    private NumberParser() {
+    }
+
+    /**
+     * Parses a decimal int value with an optional sign.
+     * The extended syntax also accepts hexadecimal values with prefix 0x and underscores between digits.
+     * @param value characters to parse
+     * @param start index of the first character (inclusive)
+     * @param end index of the last character (exclusive)
+     * @param extended whether the extended syntax is accepted
+     * @return the parsed value, or {@link #INVALID} if the characters are not a valid int value
+     */
+    static long parseInt(CharSequence value, int start, int end, boolean extended) {
+        if (start >= end) {
+            return INVALID;
+        }
+
+        boolean negative = false;
+        char first = value.charAt(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+        }
+
+        int radix = 10;
+        if (extended && end - start > 2 && value.charAt(start) == '0'
+                && (value.charAt(start + 1) == 'x' || value.charAt(start + 1) == 'X')) {
+            radix = 16;
+            start += 2;
+        }
+
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long magnitude = 0;
+        boolean previousIsDigit = false;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '_' && extended && previousIsDigit && i + 1 < end) {
+                continue;
+            }
+            int digit = digit(c, radix);
+            if (digit < 0) {
+                return INVALID;
+            }
+            magnitude = magnitude * radix + digit;
+            if (magnitude > limit) {
+                return INVALID;
+            }
+            previousIsDigit = true;
+        }
+        if (!previousIsDigit) {
+            return INVALID;
+        }
+        return negative ? -magnitude : magnitude;
+    }
+
+    /**
+     * Parses a decimal long value with an optional sign.
+     * The extended syntax also accepts hexadecimal values with prefix 0x and underscores between digits.
+     * Every long value is valid, so the value is stored in the array and the result tells whether it is valid.
+     * @param value characters to parse
+     * @param start index of the first character (inclusive)
+     * @param end index of the last character (exclusive)
+     * @param extended whether the extended syntax is accepted
+     * @param values destination of the parsed value
+     * @param index index of the parsed value in the destination
+     * @return true if the characters are a valid long value, false otherwise
+     */
+    static boolean parseLong(CharSequence value, int start, int end, boolean extended, long[] values, int index) {
+        if (start >= end) {
+            return false;
+        }
+
+        boolean negative = false;
+        char first = value.charAt(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+        }
+
+        int radix = 10;
+        if (extended && end - start > 2 && value.charAt(start) == '0'
+                && (value.charAt(start + 1) == 'x' || value.charAt(start + 1) == 'X')) {
+            radix = 16;
+            start += 2;
+        }
+
+        // the value is accumulated negatively, because Long.MIN_VALUE has no positive counterpart
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / radix;
+        long result = 0;
+        boolean previousIsDigit = false;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '_' && extended && previousIsDigit && i + 1 < end) {
+                continue;
+            }
+            int digit = digit(c, radix);
+            if (digit < 0 || result < multiplyLimit) {
+                return false;
+            }
+            result *= radix;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
+            previousIsDigit = true;
+        }
+        if (!previousIsDigit) {
+            return false;
+        }
+        values[index] = negative ? result : -result;
+        return true;
+    }
+
+    /**
+     * Parses a decimal double value with an optional sign, an optional fraction and an optional exponent, e.g. -1.5e3,
+     * or one of NaN and Infinity. Values with at most 15 significant digits and a small exponent are converted
+     * without creating a substring, other values are converted by {@link Double#parseDouble(String)}.
+     * Both conversions are correctly rounded.
+     * @param value characters to parse
+     * @param start index of the first character (inclusive)
+     * @param end index of the last character (exclusive)
+     * @param values destination of the parsed value
+     * @param index index of the parsed value in the destination
+     * @return true if the characters are a valid double value, false otherwise
+     */
+    static boolean parseDouble(CharSequence value, int start, int end, double[] values, int index) {
+        int position = start;
+        boolean negative = false;
+        if (position < end && (value.charAt(position) == '-' || value.charAt(position) == '+')) {
+            negative = value.charAt(position) == '-';
+            position++;
+        }
+        if (regionMatches(value, position, end, "NaN")) {
+            values[index] = Double.NaN;
+            return true;
+        }
+        if (regionMatches(value, position, end, "Infinity")) {
+            values[index] = negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            return true;
+        }
+
+        long significand = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean exact = true;
+        boolean anyDigit = false;
+        boolean fraction = false;
+        for (; position < end; position++) {
+            char c = value.charAt(position);
+            if (c == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                break;
+            }
+            anyDigit = true;
+            if (significand == 0 && c == '0') {
+                exponent -= fraction ? 1 : 0;
+            }
+            else if (digits < 18) {
+                significand = significand * 10 + (c - '0');
+                digits++;
+                exponent -= fraction ? 1 : 0;
+            }
+            else {
+                exponent += fraction ? 0 : 1;
+                exact &= c == '0';
+            }
+        }
+        if (!anyDigit) {
+            return false;
+        }
+
+        if (position < end && (value.charAt(position) == 'e' || value.charAt(position) == 'E')) {
+            position++;
+            boolean negativeExponent = false;
+            if (position < end && (value.charAt(position) == '-' || value.charAt(position) == '+')) {
+                negativeExponent = value.charAt(position) == '-';
+                position++;
+            }
+            if (position == end) {
+                return false;
+            }
+            int explicitExponent = 0;
+            for (; position < end; position++) {
+                char c = value.charAt(position);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+                // the exact value of a huge exponent does not matter, such values are converted by the fallback
+                explicitExponent = Math.min(explicitExponent * 10 + (c - '0'), 100_000);
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (position != end) {
+            return false;
+        }
+
+        if (significand == 0) {
+            values[index] = negative ? -0.0 : 0.0;
+        }
+        else if (exact && digits <= EXACT_DIGITS && exponent >= -22 && exponent <= 22) {
+            // both the significand and the power of ten are exact, so a single rounding gives the correct result
+            double result = exponent < 0 ? significand / POWERS_OF_TEN[-exponent] : significand * POWERS_OF_TEN[exponent];
+            values[index] = negative ? -result : result;
+        }
+        else {
+            values[index] = Double.parseDouble(value.subSequence(start, end).toString());
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the range of characters equals the expected string.
+     * @param value characters to compare
+     * @param start index of the first character (inclusive)
+     * @param end index of the last character (exclusive)
+     * @param expected the expected string
+     * @return true if the characters equal the string, false otherwise
+     */
+    private static boolean regionMatches(CharSequence value, int start, int end, String expected) {
+        if (end - start != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (value.charAt(start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the value of an ASCII digit.
+     * @param c the character
+     * @param radix 10 or 16
+     * @return value of the digit, or -1 if the character is not a digit in the radix
+     */
+    private static int digit(char c, int radix) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (radix == 16) {
+            if (c >= 'a' && c <= 'f') {
+                return c - 'a' + 10;
+            }
+            if (c >= 'A' && c <= 'F') {
+                return c - 'A' + 10;
+            }
+        }
+        return -1;
+    }
+}
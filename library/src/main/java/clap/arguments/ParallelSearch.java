@@ -0,0 +1,34 @@
+package clap.arguments;
+
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Searches the values of a parameter on the common fork-join pool if there are many values.
+ * The parallel search returns the same index as the sequential one, so the reported failures do not depend on the mode.
+ */
+final class ParallelSearch {
+    private ParallelSearch() {
+    }
+
+    /**
+     * Returns whether the values are searched in parallel.
+     * @param count number of the values
+     * @param parallelThreshold the least number of the values searched in parallel, 0 if the search is always sequential
+     * @return true if the values are searched in parallel, false otherwise
+     */
+    static boolean isParallel(int count, int parallelThreshold) {
+        return parallelThreshold > 0 && count >= parallelThreshold;
+    }
+
+    /**
+     * Finds the lowest index which matches the condition in parallel.
+     * The condition is evaluated for each index at most once, but not necessarily for every index after a match.
+     * @param count number of the values
+     * @param condition thread-safe condition of the index
+     * @return the lowest matching index, or -1 if no index matches
+     */
+    static int findFirst(int count, IntPredicate condition) {
+        return IntStream.range(0, count).parallel().filter(condition).findFirst().orElse(-1);
+    }
+}
@@ -2,20 +2,17 @@ package clap.arguments;
 
 import clap.exceptions.ArgumentException;
 import clap.Manager;
+import clap.ParseResult;
 import clap.Validator;
 
-import java.util.regex.Pattern;
+import java.lang.reflect.Array;
+import java.util.Arrays;
 
 /**
  * There are common functionalities of the arguments with parameters;
  * @param <T> The type of the value of the parameters
  */
 class ParamsArgument<T> extends SimpleArgument {
-    /**
-     * The array of the parameters.
-     */
-    T[] parameters;
-
     /**
      * The validator of the parameters.
      */
@@ -36,6 +33,16 @@ class ParamsArgument<T> extends SimpleArgument {
      */
     boolean required = false;
 
+    /**
+     * The flag if the values are converted on the first access.
+     */
+    boolean lazy = false;
+
+    /**
+     * The least number of the values which are converted and validated in parallel, 0 if they are always converted sequentially.
+     */
+    int parallelThreshold = 0;
+
     /**
      * Constructor of the argument with parameters.
      * @param owner the {@link Manager} of the argument
@@ -50,11 +57,9 @@ class ParamsArgument<T> extends SimpleArgument {
      * @return value of the parameter
      * @throws ArgumentException If parsing fails.
      */
+    @SuppressWarnings("unchecked")
     public T getValue(int index) throws ArgumentException {
-        if (!owner.areArgumentsParsed()) {
-            owner.parseArguments();
-        }
-        return parameters[index];
+        return (T) resultWithValue(index).getValue(this, index);
     }
 
     /**
@@ -63,40 +68,203 @@ class ParamsArgument<T> extends SimpleArgument {
      * @throws ArgumentException If parsing fails.
      */
     public int getNumberOfValues() throws ArgumentException {
-        if (!owner.areArgumentsParsed()) {
-            owner.parseArguments();
-        }
-        return argIsSet ? parameters.length : 0;
+        return owner.getParseResult().getNumberOfValues(this);
     }
 
     /**
-     * Check that values of the parameters are valid.
-     * @param values values of the parameters
+     * Returns the result of the parsing after the value on the given index is converted.
+     * @param index given index of the value
+     * @return result of the parsing
+     * @throws ArgumentException If parsing fails or the value is not valid.
      */
-    void validateValues(T[] values) throws ArgumentException {
-        if (validator == null) {
-            return;
+    ParseResult resultWithValue(int index) throws ArgumentException {
+        ParseResult result = owner.getParseResult();
+        if (!result.validate(this, index)) {
+            throw new ArgumentException(result.getErrorMessage());
         }
+        return result;
+    }
 
-        for (T v : values) {
-            if (!validator.validate(v)) {
-                throw new ArgumentException("Validation failed with value: " + v.toString());
-            }
+    /**
+     * Returns the result of the parsing after all values are converted.
+     * @return result of the parsing
+     * @throws ArgumentException If parsing fails or a value is not valid.
+     */
+    ParseResult resultWithValues() throws ArgumentException {
+        ParseResult result = owner.getParseResult();
+        if (!result.validate(this)) {
+            throw new ArgumentException(result.getErrorMessage());
         }
+        return result;
     }
 
     /**
-     * Split the given string of values of the parameter.
+     * Split the given string of values of the parameter in a single pass without creating substrings.
+     * The value on index i spans from {@code bounds[i] + 1} (inclusive) to {@code bounds[i + 1]} (exclusive).
+     * Trailing empty values are omitted like in {@link String#split(String)}.
      * @param value string of the values
-     * @return array of the values
+     * @param hasMultipleParams whether the value is split at all
+     * @param separator separator of the values
+     * @return bounds of the values, one more than the number of the values
      */
-    String[] splitValue(String value) {
+    static int[] splitValue(String value, boolean hasMultipleParams, char separator) {
+        int count = 1;
         if (hasMultipleParams) {
-            return value.split(Pattern.quote(Character.toString(separator)));
+            for (int i = value.indexOf(separator); i >= 0; i = value.indexOf(separator, i + 1)) {
+                count++;
+            }
+        }
+
+        int[] bounds = new int[count + 1];
+        bounds[0] = -1;
+        int position = -1;
+        for (int i = 1; i < count; i++) {
+            position = value.indexOf(separator, position + 1);
+            bounds[i] = position;
+        }
+        bounds[count] = value.length();
+
+        if (count == 1) {
+            return bounds;
         }
-        else {
-            return new String[]{ value };
+        int last = count;
+        while (last > 0 && bounds[last] == bounds[last - 1] + 1) {
+            last--;
         }
+        return last == count ? bounds : Arrays.copyOf(bounds, last + 1);
+    }
+
+    /**
+     * Converter of the values to an array, it captures the configuration of the argument.
+     * It splits the raw value and converts and validates the elements sequentially or in parallel,
+     * the subclasses only parse, store and validate a single element.
+     * @param <A> The type of the array of the values, e.g. {@code int[]}
+     */
+    abstract static class ArrayConverter<A> extends ValueConverter {
+        private final boolean hasMultipleParams;
+        private final char separator;
+        private final int parallelThreshold;
+        /**
+         * The name of the type of the values in the failure descriptions.
+         */
+        private final String typeName;
+
+        ArrayConverter(ParamsArgument<?> argument, String typeName) {
+            this.hasMultipleParams = argument.hasMultipleParams;
+            this.separator = argument.separator;
+            this.parallelThreshold = argument.parallelThreshold;
+            this.typeName = typeName;
+        }
+
+        /**
+         * Creates the array of the values.
+         * @param length number of the values
+         * @return new array of the values
+         */
+        abstract A newArray(int length);
+
+        /**
+         * Parses a single element of the raw value and stores it into the array.
+         * @param value raw value from the command line
+         * @param start index of the first character of the element (inclusive)
+         * @param end index of the last character of the element (exclusive)
+         * @param values destination of the parsed value
+         * @param index index of the parsed value in the destination
+         * @return true if the element is parsed, false if it is malformed
+         */
+        abstract boolean parseValue(String value, int start, int end, A values, int index);
+
+        /**
+         * Checks if the argument has a validator, so the values are not iterated without one.
+         * @return true if the values are validated, false otherwise
+         */
+        abstract boolean hasValidator();
+
+        /**
+         * Validates a single value by the validators of the argument.
+         * @param values array of the values
+         * @param index index of the validated value
+         * @return true if the value is valid, false otherwise
+         */
+        abstract boolean validateValue(A values, int index);
+
+        @Override
+        public final int[] split(String value) {
+            return splitValue(value, hasMultipleParams, separator);
+        }
+
+        @Override
+        public final Object newValues(int count) {
+            return newArray(count);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public final int parse(String value, int[] bounds, Object values) {
+            A array = (A) values;
+            int count = bounds.length - 1;
+            if (ParallelSearch.isParallel(count, parallelThreshold)) {
+                return ParallelSearch.findFirst(count, i -> !parseValue(value, bounds[i] + 1, bounds[i + 1], array, i));
+            }
+            for (int i = 0; i < count; i++) {
+                if (!parseValue(value, bounds[i] + 1, bounds[i + 1], array, i)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public final boolean parseElement(String value, int start, int end, Object values, int index) {
+            return parseValue(value, start, end, (A) values, index);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public final int findInvalidValue(Object values) {
+            if (!hasValidator()) {
+                return -1;
+            }
+            A array = (A) values;
+            int count = Array.getLength(values);
+            if (ParallelSearch.isParallel(count, parallelThreshold)) {
+                return ParallelSearch.findFirst(count, i -> !validateValue(array, i));
+            }
+            for (int i = 0; i < count; i++) {
+                if (!validateValue(array, i)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public final boolean isValid(Object values, int index) {
+            return !hasValidator() || validateValue((A) values, index);
+        }
+
+        @Override
+        public final String describeMalformed(String element) {
+            return "Cannot parse to " + typeName + " value: " + element;
+        }
+
+        @Override
+        public final String describeRejected(Object values, int index) {
+            return "Validation failed with value: " + Array.get(values, index);
+        }
+    }
+
+    /**
+     * The values of the built-in arguments are converted by the {@link clap.Schema} and kept in the {@link ParseResult},
+     * so they cannot be set directly.
+     * @param value The new value of the argument
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public void setValue(String value) {
+        throw new UnsupportedOperationException("Values of " + getClass().getSimpleName() + " are set only by parsing");
     }
 
     /**
@@ -114,4 +282,12 @@ class ParamsArgument<T> extends SimpleArgument {
     public boolean isRequired() {
         return required;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean convertsLazily() {
+        return lazy;
+    }
 }
@@ -16,9 +16,9 @@ public class SimpleArgument {
     final Manager owner;
 
     /**
-     * The names of the argument.
+     * The names of the argument, the list starts small since most arguments have one or two names.
      */
-    public List<String> names = new ArrayList<>();
+    public List<String> names = new ArrayList<>(1);
 
     /**
      * The description of the argument.
@@ -26,9 +26,9 @@ public class SimpleArgument {
     String description;
 
     /**
-     * The flag whether the argument is set.
+     * Notified when the configuration of the argument changes, e.g. to discard the schema frozen by the manager.
      */
-    boolean argIsSet = false;
+    Runnable onChange = () -> { };
 
     /**
      * The constructor of the argument.
@@ -38,13 +38,45 @@ public class SimpleArgument {
         this.owner = owner;
     }
 
+    /**
+     * Reports a change of the configuration of the argument to its manager.
+     */
+    void changed() {
+        onChange.run();
+    }
+
+    /**
+     * Creates a converter of the values from the command line according to the current configuration.
+     * Only the built-in arguments convert their values this way, other subclasses receive them through {@link #setValue(String)}.
+     * @return converter of the values, or null if the argument does not convert its values
+     */
+    public final ValueConverter createConverter() {
+        return converter();
+    }
+
+    /**
+     * Creates a converter of the values, the built-in arguments with parameters override it.
+     * @return converter of the values, or null if the argument does not convert its values
+     */
+    ValueConverter converter() {
+        return null;
+    }
+
     /**
      * Accepts value from the command line as a string, converts it and stores it.
-     * @param value The new value of the argument
+     * The built-in arguments keep their values in the {@link clap.ParseResult}, so it is called only for other subclasses,
+     * which store their values themselves. The argument is set once this method returns.
+     * @param value The new value of the argument, null if the argument does not expect parameters
+     * @throws ArgumentException If the value is not valid.
      */
     public void setValue(String value) throws ArgumentException {
-        argIsSet = true;
-    };
+    }
+
+    /**
+     * Forgets the value from the previous parsing. It is called before each parsing for the subclasses which store their values themselves.
+     */
+    public void resetValue() {
+    }
 
     /**
      * Returns whether the argument is set.
@@ -52,10 +84,7 @@ public class SimpleArgument {
      * @throws ArgumentException If parsing fails.
      */
     public boolean isSet() throws ArgumentException {
-        if (!owner.areArgumentsParsed()) {
-            owner.parseArguments();
-        }
-        return argIsSet;
+        return owner.getParseResult().isSet(this);
     }
 
     /**
@@ -81,4 +110,12 @@ public class SimpleArgument {
     public boolean isRequired() {
         return false;
     }
+
+    /**
+     * Returns whether the values of the argument are converted on the first access rather than while parsing.
+     * @return true if the values are converted lazily, false otherwise
+     */
+    public boolean convertsLazily() {
+        return false;
+    }
 }
@@ -20,11 +20,49 @@ public final class StringArgument extends ParamsArgument<String> {
      * {@inheritDoc}
      */
     @Override
-    public void setValue(String value) throws ArgumentException {
-        String[] values = splitValue(value);
-        validateValues(values);
-        parameters = values;
-        argIsSet = true;
+    public String getValue(int index) throws ArgumentException {
+        return resultWithValue(index).getValue(this, index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    ValueConverter converter() {
+        return new Converter(this);
+    }
+
+    /**
+     * Converter of the string values, it captures the configuration of the argument.
+     */
+    private static final class Converter extends ArrayConverter<String[]> {
+        private final Validator<String> validator;
+
+        Converter(StringArgument argument) {
+            super(argument, "string");
+            this.validator = argument.validator;
+        }
+
+        @Override
+        String[] newArray(int length) {
+            return new String[length];
+        }
+
+        @Override
+        boolean parseValue(String value, int start, int end, String[] values, int index) {
+            values[index] = value.substring(start, end);
+            return true;
+        }
+
+        @Override
+        boolean hasValidator() {
+            return validator != null;
+        }
+
+        @Override
+        boolean validateValue(String[] values, int index) {
+            return validator.validate(values[index]);
+        }
     }
 
     /**
@@ -34,6 +72,7 @@ public final class StringArgument extends ParamsArgument<String> {
      */
     public StringArgument setValidator(Validator<String> validator) {
         this.validator = validator;
+        changed();
         return this;
     }
 
@@ -49,6 +88,34 @@ public final class StringArgument extends ParamsArgument<String> {
         }
         this.separator = separator;
         hasMultipleParams = true;
+        changed();
+        return this;
+    }
+
+    /**
+     * Converts and validates the values on the first access rather than while parsing.
+     * An invalid value is reported when it is accessed or when {@link Manager#validateAll()} is called.
+     * @return this instance
+     */
+    public StringArgument convertLazily() {
+        lazy = true;
+        changed();
+        return this;
+    }
+
+    /**
+     * Converts and validates the values on the common fork-join pool if there are at least the given number of values.
+     * The values and the reported failure are the same as in the sequential conversion, but the validator must be thread-safe.
+     * @param threshold the least number of the values converted in parallel
+     * @return this instance
+     * @throws ArgumentException If the threshold is not positive.
+     */
+    public StringArgument convertInParallel(int threshold) throws ArgumentException {
+        if (threshold < 1) {
+            throw new ArgumentException("Parallel threshold must be positive");
+        }
+        parallelThreshold = threshold;
+        changed();
         return this;
     }
 
@@ -58,6 +125,7 @@ public final class StringArgument extends ParamsArgument<String> {
      */
     public StringArgument required() {
         required = true;
+        changed();
         return this;
     }
 }
@@ -0,0 +1,98 @@
+package clap.arguments;
+
+/**
+ * Converts a raw value from the command line to the stored values of a built-in argument.
+ * A converter captures the configuration of the argument at the time of its creation, so it never changes afterwards.
+ * The conversion does not throw on invalid values, it reports the index of the offending element instead,
+ * so a failure is described from the recorded element without converting or validating the value again.
+ * <p>
+ * Converters are created by {@link SimpleArgument#createConverter()} for the {@link clap.Schema}, and they are not an extension point.
+ * The constructor is package-private, so only the built-in arguments implement them. Other subclasses of {@link SimpleArgument}
+ * receive their values through {@link SimpleArgument#setValue(String)}.
+ */
+public abstract class ValueConverter {
+    /**
+     * The reasons why a raw value is not converted.
+     */
+    public enum Failure {
+        /**
+         * A value cannot be converted to the type of the argument.
+         */
+        MALFORMED,
+        /**
+         * A value is rejected by the validator of the argument.
+         */
+        REJECTED
+    }
+
+    /**
+     * Only the built-in arguments create converters.
+     */
+    ValueConverter() {
+    }
+
+    /**
+     * Splits the raw value to its elements without converting them.
+     * The element on index i spans from {@code bounds[i] + 1} (inclusive) to {@code bounds[i + 1]} (exclusive).
+     * @param value raw value from the command line
+     * @return bounds of the elements, one more than the number of the elements
+     */
+    public abstract int[] split(String value);
+
+    /**
+     * Creates the array of the converted values.
+     * @param count number of the values
+     * @return new array of the values
+     */
+    public abstract Object newValues(int count);
+
+    /**
+     * Converts all elements of the raw value without validating them.
+     * @param value raw value from the command line
+     * @param bounds bounds of the elements returned by {@link #split(String)}
+     * @param values destination of the converted values created by {@link #newValues(int)}
+     * @return index of the first malformed element, or -1 if all elements are converted
+     */
+    public abstract int parse(String value, int[] bounds, Object values);
+
+    /**
+     * Converts a single element of the raw value without validating it, it is used by the lazy conversion.
+     * @param value raw value from the command line
+     * @param start index of the first character of the element (inclusive)
+     * @param end index of the last character of the element (exclusive)
+     * @param values destination of the converted value
+     * @param index index of the converted value in the destination
+     * @return true if the element is converted, false if it is malformed
+     */
+    public abstract boolean parseElement(String value, int start, int end, Object values, int index);
+
+    /**
+     * Validates the values converted by {@link #parse(String, int[], Object)}.
+     * @param values array of the converted values
+     * @return index of the first invalid value, or -1 if all values are valid
+     */
+    public abstract int findInvalidValue(Object values);
+
+    /**
+     * Validates a single converted value, it is used by the lazy conversion.
+     * @param values array of the converted values
+     * @param index index of the validated value
+     * @return true if the value is valid, false otherwise
+     */
+    public abstract boolean isValid(Object values, int index);
+
+    /**
+     * Describes an element which cannot be converted.
+     * @param element the malformed element of the raw value
+     * @return human-readable description of the failure
+     */
+    public abstract String describeMalformed(String element);
+
+    /**
+     * Describes a value rejected by the validator.
+     * @param values array of the converted values
+     * @param index index of the rejected value
+     * @return human-readable description of the failure
+     */
+    public abstract String describeRejected(Object values, int index);
+}
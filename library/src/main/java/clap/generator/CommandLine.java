@@ -0,0 +1,16 @@
+package clap.generator;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class whose fields annotated by {@link Option} describe the command line.
+ * The {@link ParserProcessor} generates the class {@code <Name>Parser} in the same package, which fills a new instance of the class.
+ * The class must have a constructor without parameters, and the fields must not be private or final.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface CommandLine {
+}
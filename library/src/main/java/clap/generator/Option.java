@@ -0,0 +1,47 @@
+package clap.generator;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares an argument stored in the annotated field. The type of the field selects the type of the argument:
+ * {@code boolean} for a simple argument, {@code String} or {@code String[]} for a string argument,
+ * {@code int} or {@code int[]} for an integer argument, {@code long} or {@code long[]} for a long argument
+ * and {@code double} or {@code double[]} for a double argument.
+ * An argument without names is a plain argument, plain arguments are captured in the order of the fields.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Option {
+    /**
+     * The names of the argument.
+     * @return names of the argument
+     */
+    String[] names() default {};
+
+    /**
+     * The description of the argument.
+     * @return description of the argument
+     */
+    String description() default "";
+
+    /**
+     * The separator of the values, empty if the argument has a single value. Only array fields can have a separator.
+     * @return separator of the values
+     */
+    String separator() default "";
+
+    /**
+     * The flag if the argument is required.
+     * @return true if the argument is required
+     */
+    boolean required() default false;
+
+    /**
+     * The flag if an integer or long argument accepts hexadecimal values with prefix 0x and underscores between digits.
+     * @return true if the extended syntax is accepted
+     */
+    boolean extendedSyntax() default false;
+}
@@ -0,0 +1,562 @@
+package clap.generator;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Generates a dedicated parser for each class annotated by {@link CommandLine}.
+ * The generated class {@code <Name>Parser} dispatches on the names of the arguments with a switch
+ * and stores the values directly in the fields of the options class, so no reflection and no argument objects are used at runtime.
+ * The parsing follows {@link clap.Manager#parseArguments()}, including its error messages.
+ */
+@SupportedAnnotationTypes({"clap.generator.CommandLine", "clap.generator.Option", "clap.generator.Trailing"})
+public final class ParserProcessor extends AbstractProcessor {
+    /**
+     * The kinds of the fields of the options class.
+     */
+    private enum FieldKind {
+        BOOLEAN, STRING, STRING_ARRAY, INT, INT_ARRAY, LONG, LONG_ARRAY, DOUBLE, DOUBLE_ARRAY
+    }
+
+    /**
+     * An argument declared by a field annotated by {@link Option}.
+     */
+    private static final class Declaration {
+        private final String field;
+        private final FieldKind kind;
+        private final List<String> names;
+        private final String description;
+        private final boolean hasMultipleParams;
+        private final char separator;
+        private final boolean required;
+        private final boolean extendedSyntax;
+
+        Declaration(String field, FieldKind kind, Option option) {
+            this.field = field;
+            this.kind = kind;
+            names = List.of(option.names());
+            description = option.description();
+            hasMultipleParams = !option.separator().isEmpty();
+            separator = hasMultipleParams ? option.separator().charAt(0) : ' ';
+            required = option.required();
+            extendedSyntax = option.extendedSyntax();
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Option.class)) {
+            checkEnclosingClass(element, "@Option");
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(Trailing.class)) {
+            checkEnclosingClass(element, "@Trailing");
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(CommandLine.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@CommandLine can annotate only classes.");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (checkOptionsClass(type)) {
+                generateParser(type);
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Checks that the annotated field is declared in an options class.
+     * @param element the annotated field
+     * @param annotation name of the annotation for the message
+     */
+    private void checkEnclosingClass(Element element, String annotation) {
+        if (element.getEnclosingElement().getAnnotation(CommandLine.class) == null) {
+            error(element, annotation + " fields must be declared in a class annotated by @CommandLine.");
+        }
+    }
+
+
+    /**
+     * Checks that the parser can create an instance of the options class.
+     * @param type the options class
+     * @return true if the class is valid, false otherwise
+     */
+    private boolean checkOptionsClass(TypeElement type) {
+        Set<Modifier> modifiers = type.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE)
+                || (type.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC))
+                || (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER)) {
+            error(type, "An options class must be a non-abstract top level or static member class, which is not private.");
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        error(type, "An options class must have a constructor without parameters, which is not private.");
+        return false;
+    }
+
+
+    /**
+     * Generates the parser of the options class.
+     * @param type the options class
+     */
+    private void generateParser(TypeElement type) {
+        List<Declaration> declarations = new ArrayList<>();
+        String trailing = null;
+        Set<String> names = new HashSet<>();
+        boolean valid = true;
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Option option = field.getAnnotation(Option.class);
+            boolean isTrailing = field.getAnnotation(Trailing.class) != null;
+            if (option == null && !isTrailing) {
+                continue;
+            }
+            if (!checkModifiers(field)) {
+                valid = false;
+                continue;
+            }
+            if (isTrailing) {
+                if (option != null || trailing != null || kindOf(field.asType()) != FieldKind.STRING_ARRAY) {
+                    error(field, "A single String[] field without @Option can be annotated by @Trailing.");
+                    valid = false;
+                }
+                trailing = field.getSimpleName().toString();
+                continue;
+            }
+            FieldKind kind = kindOf(field.asType());
+            if (kind == null) {
+                error(field, "An @Option field must be boolean, String, String[], int, int[], long, long[], double or double[].");
+                valid = false;
+                continue;
+            }
+            Declaration declaration = new Declaration(field.getSimpleName().toString(), kind, option);
+            valid &= checkDeclaration(field, declaration, option, names);
+            declarations.add(declaration);
+        }
+        if (!valid) {
+            return;
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String parserName = type.getSimpleName() + "Parser";
+        String qualifiedName = packageName.isEmpty() ? parserName : packageName + "." + parserName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(new ParserWriter(packageName, parserName, type.getQualifiedName().toString(), declarations, trailing).write());
+        }
+        catch (IOException e) {
+            error(type, "Cannot write the parser: " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * Checks that the generated parser can assign the field.
+     * @param field the annotated field
+     * @return true if the field can be assigned, false otherwise
+     */
+    private boolean checkModifiers(VariableElement field) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC)) {
+            error(field, "An annotated field must not be private, final or static.");
+            return false;
+        }
+        return true;
+    }
+
+
+    /**
+     * Checks the configuration of the argument like {@link clap.arguments.ArgumentBuilder} and the arguments.
+     * @param field the annotated field
+     * @param declaration the declared argument
+     * @param option the annotation of the field
+     * @param names names of the previous arguments, the names of this argument are added
+     * @return true if the configuration is valid, false otherwise
+     */
+    private boolean checkDeclaration(VariableElement field, Declaration declaration, Option option, Set<String> names) {
+        boolean valid = true;
+        for (String name : declaration.names) {
+            if (name.isEmpty() || name.equals(" ")) {
+                error(field, "Argument name cannot be empty or a space character.");
+                valid = false;
+            }
+            else if (name.startsWith("-")) {
+                error(field, "Argument name cannot start with a dash.");
+                valid = false;
+            }
+            else if (!names.add(name)) {
+                error(field, "Argument name " + name + " is already taken.");
+                valid = false;
+            }
+        }
+        if (option.separator().length() > 1 || option.separator().equals(" ")) {
+            error(field, "Separator must be a single character, which is not a space character.");
+            valid = false;
+        }
+        if (declaration.hasMultipleParams && !isArray(declaration.kind)) {
+            error(field, "Only array fields can have a separator.");
+            valid = false;
+        }
+        if (declaration.extendedSyntax && declaration.kind != FieldKind.INT && declaration.kind != FieldKind.INT_ARRAY
+                && declaration.kind != FieldKind.LONG && declaration.kind != FieldKind.LONG_ARRAY) {
+            error(field, "Only int and long fields can accept the extended syntax.");
+            valid = false;
+        }
+        if (declaration.required && declaration.kind == FieldKind.BOOLEAN) {
+            error(field, "A boolean field cannot be required.");
+            valid = false;
+        }
+        return valid;
+    }
+
+
+    /**
+     * Returns whether the fields of the kind are arrays.
+     * @param kind kind of the field
+     * @return true if the fields are arrays, false otherwise
+     */
+    private static boolean isArray(FieldKind kind) {
+        return kind == FieldKind.STRING_ARRAY || kind == FieldKind.INT_ARRAY || kind == FieldKind.LONG_ARRAY || kind == FieldKind.DOUBLE_ARRAY;
+    }
+
+
+    /**
+     * Returns the kind of the field of the given type.
+     * @param type type of the field
+     * @return kind of the field, or null if the type is not supported
+     */
+    private FieldKind kindOf(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return FieldKind.BOOLEAN;
+            case INT:
+                return FieldKind.INT;
+            case LONG:
+                return FieldKind.LONG;
+            case DOUBLE:
+                return FieldKind.DOUBLE;
+            case ARRAY:
+                TypeMirror component = ((ArrayType) type).getComponentType();
+                switch (component.getKind()) {
+                    case INT:
+                        return FieldKind.INT_ARRAY;
+                    case LONG:
+                        return FieldKind.LONG_ARRAY;
+                    case DOUBLE:
+                        return FieldKind.DOUBLE_ARRAY;
+                    default:
+                        return isString(component) ? FieldKind.STRING_ARRAY : null;
+                }
+            default:
+                return isString(type) ? FieldKind.STRING : null;
+        }
+    }
+
+
+    /**
+     * Returns whether the type is {@link String}.
+     * @param type the type
+     * @return true if the type is String, false otherwise
+     */
+    private boolean isString(TypeMirror type) {
+        TypeMirror string = processingEnv.getElementUtils().getTypeElement("java.lang.String").asType();
+        return processingEnv.getTypeUtils().isSameType(type, string);
+    }
+
+
+    /**
+     * Reports an error at the element.
+     * @param element the offending element
+     * @param message description of the error
+     */
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+
+    /**
+     * Writes the source code of a parser.
+     */
+    private static final class ParserWriter {
+        private final String packageName;
+        private final String parserName;
+        private final String optionsName;
+        private final List<Declaration> declarations;
+        private final String trailing;
+        private final StringBuilder out = new StringBuilder();
+
+
+        ParserWriter(String packageName, String parserName, String optionsName, List<Declaration> declarations, String trailing) {
+            this.packageName = packageName;
+            this.parserName = parserName;
+            this.optionsName = optionsName;
+            this.declarations = declarations;
+            this.trailing = trailing;
+        }
+
+
+        /**
+         * Writes the whole parser.
+         * @return source code of the parser
+         */
+        String write() {
+            if (!packageName.isEmpty()) {
+                out.append("package ").append(packageName).append(";\n\n");
+            }
+            out.append("/**\n * Parser of the command line described by {@link ").append(optionsName)
+                    .append("}, it is generated by {@link clap.generator.ParserProcessor}.\n */\n");
+            out.append("@javax.annotation.processing.Generated(\"clap.generator.ParserProcessor\")\n");
+            out.append("public final class ").append(parserName).append(" {\n");
+            out.append("    private ").append(parserName).append("() {\n    }\n\n");
+            writeSuggestions();
+            writeHelp();
+            writeParse();
+            out.append("}\n");
+            return out.toString();
+        }
+
+
+        /**
+         * Writes the holder of the suggestions of the names, the suggestions are built on the first unknown name.
+         */
+        private void writeSuggestions() {
+            out.append("    /**\n     * Holder of the suggestions of the argument names, it is initialized on the first unknown name.\n     */\n");
+            out.append("    private static final class Suggestions {\n");
+            out.append("        static final clap.arguments.NameSuggestions NAMES = new clap.arguments.NameSuggestions(java.util.List.of(");
+            String separator = "";
+            for (Declaration declaration : declarations) {
+                for (String name : declaration.names) {
+                    out.append(separator).append(literal(name));
+                    separator = ", ";
+                }
+            }
+            out.append("));\n    }\n\n");
+        }
+
+
+        /**
+         * Writes the method which returns the documentation in the format of {@link clap.Manager#getHelp()}.
+         */
+        private void writeHelp() {
+            StringBuilder help = new StringBuilder();
+            for (Declaration declaration : declarations) {
+                help.append("Argument names: ").append(declaration.names).append("\n");
+                help.append("Description:    ").append(declaration.description).append("\n\n");
+            }
+            out.append("    /**\n     * Generates a documentation of the arguments.\n     * @return helpful documentation of the arguments\n     */\n");
+            out.append("    public static String getHelp() {\n");
+            out.append("        return ").append(literal(help.toString())).append(";\n    }\n\n");
+        }
+
+
+        /**
+         * Writes the parsing method.
+         */
+        private void writeParse() {
+            out.append("    /**\n     * Parses the command line arguments into a new instance of {@link ").append(optionsName).append("}.\n");
+            out.append("     * @param arguments arguments from the command line\n     * @return the parsed options\n");
+            out.append("     * @throws clap.exceptions.ArgumentException If parsing fails.\n     */\n");
+            out.append("    public static ").append(optionsName).append(" parse(String[] arguments) throws clap.exceptions.ArgumentException {\n");
+            out.append("        if (arguments == null) {\n");
+            out.append("            throw new IllegalArgumentException(\"Arguments cannot be null!\");\n        }\n");
+            out.append("        ").append(optionsName).append(" options = new ").append(optionsName).append("();\n");
+            for (int i = 0; i < declarations.size(); i++) {
+                if (declarations.get(i).required) {
+                    out.append("        boolean set").append(i).append(" = false;\n");
+                }
+            }
+            out.append("        java.util.List<String> trailing = new java.util.ArrayList<>();\n");
+            out.append("        int unnamedArgsIndex = 0;\n");
+            out.append("        boolean plainOnly = false;\n");
+            out.append("        for (int i = 0; i < arguments.length; i++) {\n");
+            out.append("            String token = arguments[i];\n");
+            out.append("            if (!plainOnly && token.equals(\"--\")) {\n");
+            out.append("                plainOnly = true;\n");
+            out.append("            }\n");
+            out.append("            else if (!plainOnly && token.startsWith(\"-\")) {\n");
+            out.append("                switch (clap.arguments.ArgumentSyntax.stripDashes(token)) {\n");
+            for (int i = 0; i < declarations.size(); i++) {
+                Declaration declaration = declarations.get(i);
+                if (declaration.names.isEmpty()) {
+                    continue;
+                }
+                for (String name : declaration.names) {
+                    out.append("                    case ").append(literal(name)).append(":\n");
+                }
+                if (declaration.kind != FieldKind.BOOLEAN) {
+                    out.append("                        if (i + 1 == arguments.length) {\n");
+                    out.append("                            throw new clap.exceptions.ArgumentException(\"Argument \" + token + \" expects a parameter!\");\n");
+                    out.append("                        }\n");
+                }
+                writeAssignment(i, declaration, "arguments[++i]", "                        ");
+                out.append("                        break;\n");
+            }
+            out.append("                    default:\n");
+            out.append("                        throw new clap.exceptions.ArgumentException(Suggestions.NAMES.describeUnknownArgument(token));\n");
+            out.append("                }\n");
+            out.append("            }\n");
+            out.append("            else {\n");
+            out.append("                switch (unnamedArgsIndex) {\n");
+            int unnamed = 0;
+            for (int i = 0; i < declarations.size(); i++) {
+                Declaration declaration = declarations.get(i);
+                if (declaration.names.isEmpty()) {
+                    out.append("                    case ").append(unnamed++).append(":\n");
+                    writeAssignment(i, declaration, "token", "                        ");
+                    out.append("                        unnamedArgsIndex++;\n");
+                    out.append("                        break;\n");
+                }
+            }
+            out.append("                    default:\n");
+            out.append("                        trailing.add(token);\n");
+            out.append("                }\n");
+            out.append("            }\n");
+            out.append("        }\n");
+            for (int i = 0; i < declarations.size(); i++) {
+                Declaration declaration = declarations.get(i);
+                if (declaration.required) {
+                    out.append("        if (!set").append(i).append(") {\n");
+                    out.append("            throw new clap.exceptions.ArgumentException(")
+                            .append(literal("Required argument " + declaration.names + " is not set!")).append(");\n");
+                    out.append("        }\n");
+                }
+            }
+            if (trailing != null) {
+                out.append("        options.").append(trailing).append(" = trailing.toArray(new String[0]);\n");
+            }
+            out.append("        return options;\n");
+            out.append("    }\n");
+        }
+
+
+        /**
+         * Writes the conversion of the value and its assignment to the field.
+         * @param index index of the declaration
+         * @param declaration the declared argument
+         * @param value expression of the raw value
+         * @param indent indentation of the statements
+         */
+        private void writeAssignment(int index, Declaration declaration, String value, String indent) {
+            out.append(indent).append("options.").append(declaration.field).append(" = ");
+            switch (declaration.kind) {
+                case BOOLEAN:
+                    out.append("true");
+                    break;
+                case STRING:
+                    out.append(value);
+                    break;
+                case STRING_ARRAY:
+                    out.append("clap.arguments.ArgumentSyntax.toStrings(").append(value).append(", ")
+                            .append(declaration.hasMultipleParams).append(", ").append(literal(declaration.separator)).append(")");
+                    break;
+                case INT:
+                    out.append("clap.arguments.ArgumentSyntax.toInt(").append(value).append(", ")
+                            .append(declaration.extendedSyntax).append(")");
+                    break;
+                case INT_ARRAY:
+                    out.append("clap.arguments.ArgumentSyntax.toInts(").append(value).append(", ")
+                            .append(declaration.hasMultipleParams).append(", ").append(literal(declaration.separator))
+                            .append(", ").append(declaration.extendedSyntax).append(")");
+                    break;
+                case LONG:
+                    out.append("clap.arguments.ArgumentSyntax.toLong(").append(value).append(", ")
+                            .append(declaration.extendedSyntax).append(")");
+                    break;
+                case LONG_ARRAY:
+                    out.append("clap.arguments.ArgumentSyntax.toLongs(").append(value).append(", ")
+                            .append(declaration.hasMultipleParams).append(", ").append(literal(declaration.separator))
+                            .append(", ").append(declaration.extendedSyntax).append(")");
+                    break;
+                case DOUBLE:
+                    out.append("clap.arguments.ArgumentSyntax.toDouble(").append(value).append(")");
+                    break;
+                default:
+                    out.append("clap.arguments.ArgumentSyntax.toDoubles(").append(value).append(", ")
+                            .append(declaration.hasMultipleParams).append(", ").append(literal(declaration.separator)).append(")");
+                    break;
+            }
+            out.append(";\n");
+            if (declaration.required) {
+                out.append(indent).append("set").append(index).append(" = true;\n");
+            }
+        }
+
+
+        /**
+         * Creates a Java string literal.
+         * @param value the string
+         * @return the literal
+         */
+        private static String literal(String value) {
+            StringBuilder builder = new StringBuilder("\"");
+            for (int i = 0; i < value.length(); i++) {
+                appendEscaped(builder, value.charAt(i), '"');
+            }
+            return builder.append('"').toString();
+        }
+
+
+        /**
+         * Creates a Java character literal.
+         * @param value the character
+         * @return the literal
+         */
+        private static String literal(char value) {
+            StringBuilder builder = new StringBuilder("'");
+            appendEscaped(builder, value, '\'');
+            return builder.append('\'').toString();
+        }
+
+
+        /**
+         * Appends the character escaped for a Java literal.
+         * @param builder destination of the character
+         * @param c the character
+         * @param quote the quote of the literal
+         */
+        private static void appendEscaped(StringBuilder builder, char c, char quote) {
+            if (c == quote || c == '\\') {
+                builder.append('\\').append(c);
+            }
+            else if (c == '\n') {
+                builder.append("\\n");
+            }
+            else if (c == '\r') {
+                builder.append("\\r");
+            }
+            else if (c < ' ' || c > '~') {
+                builder.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                builder.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * The generator package contains the annotations of options classes and the annotation processor,
+ * which generates a dedicated parser for each options class at compile time.
+ */
+package clap.generator;
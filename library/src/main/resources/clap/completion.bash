@@ -0,0 +1,20 @@
+# Bash completion of a program served by clap.CompletionServer.
+#
+#   source completion.bash
+#   CLAP_COMPLETION_SOCKET=/run/user/$UID/mytool.sock
+#   complete -F _clap_complete mytool
+#
+# The program has to run the server on the socket. The request is sent by netcat with Unix domain socket support,
+# e.g. OpenBSD netcat, or by socat if netcat is not available.
+
+_clap_complete() {
+    local socket="${CLAP_COMPLETION_SOCKET:-}"
+    [[ -S "$socket" ]] || return 0
+    local IFS=$'\n'
+    local request=(printf '%s\0' "$((COMP_CWORD - 1))" "${COMP_WORDS[@]:1}")
+    if command -v nc > /dev/null; then
+        COMPREPLY=($("${request[@]}" | nc -U -N "$socket" 2> /dev/null))
+    else
+        COMPREPLY=($("${request[@]}" | socat - "UNIX-CONNECT:$socket" 2> /dev/null))
+    fi
+}
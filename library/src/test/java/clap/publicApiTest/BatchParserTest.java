@@ -0,0 +1,143 @@
+package clap.publicApiTest;
+
+import clap.*;
+import clap.arguments.*;
+import clap.exceptions.ArgumentException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Batch parser")
+final class BatchParserTest {
+    @Test
+    void parsesEachLineOfFile() throws ArgumentException, IOException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        final var optN = manager.makeArgument(IntegerArgument.class).addName("n").finishGeneral().required();
+        final Schema schema = manager.freeze();
+        final StringBuilder content = new StringBuilder();
+        final int lines = 5000;
+        for (int i = 0; i < lines; i++) {
+            if (i % 10 == 0) {
+                content.append("-n x").append(i).append('\n');
+            }
+            else if (i % 10 == 1) {
+                content.append("--unknown 'quoted value'\r\n");
+            }
+            else {
+                content.append("-n ").append(i).append(" \"plain value\"\n");
+            }
+        }
+        final Path file = Files.createTempFile("clap", ".lines");
+        try {
+            Files.writeString(file, content);
+            final Map<Long, ParseResult> results = new ConcurrentHashMap<>();
+            // act
+            final BatchStatistics statistics = new BatchParser(schema, new ForkJoinPool(4), 4096).parse(file, results::put);
+            // assert
+            assertEquals(lines, statistics.getLines());
+            assertEquals(lines / 10, statistics.getFailures(ParseError.MALFORMED_VALUE));
+            assertEquals(lines / 10, statistics.getFailures(ParseError.UNKNOWN_ARGUMENT));
+            assertEquals(lines * 8 / 10, statistics.getPassed());
+            assertEquals(lines, results.size());
+            final ParseResult first = results.get(0L);
+            assertEquals(ParseError.MALFORMED_VALUE, first.getError());
+            final ParseResult third = results.get((long) "-n x0\n--unknown 'quoted value'\r\n".length());
+            assertEquals(2, third.getInt(optN, 0));
+            assertArrayEquals(new String[]{"plain value"}, third.getTrailingArguments());
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void parsesEmptyFile() throws IOException {
+        // arrange
+        final Schema schema = new Manager(new String[]{}).freeze();
+        final Path file = Files.createTempFile("clap", ".lines");
+        try {
+            // act
+            final BatchStatistics statistics = new BatchParser(schema).parse(file, (offset, result) -> fail());
+            // assert
+            assertEquals(0, statistics.getLines());
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void doesNotExpandResponseFilesOnLines() throws IOException {
+        // arrange
+        final Manager manager = new Manager(new String[]{}).enableResponseFiles();
+        final Schema schema = manager.freeze();
+        final Path responseFile = Files.createTempFile("clap", ".args");
+        final Path file = Files.createTempFile("clap", ".lines");
+        try {
+            Files.writeString(responseFile, "--unknown\n");
+            Files.writeString(file, "@" + responseFile + "\n");
+            final Map<Long, ParseResult> results = new ConcurrentHashMap<>();
+            // act
+            final BatchStatistics statistics = new BatchParser(schema).parse(file, results::put);
+            // assert
+            assertEquals(1, statistics.getPassed());
+            assertArrayEquals(new String[]{"@" + responseFile}, results.get(0L).getTrailingArguments());
+        }
+        finally {
+            Files.delete(file);
+            Files.delete(responseFile);
+        }
+    }
+
+    @Test
+    void rejectsNullListener() {
+        // arrange
+        final BatchParser parser = new BatchParser(new Manager(new String[]{}).freeze());
+        // act & assert
+        assertThrows(NullPointerException.class, () -> parser.parse(Path.of("lines"), null));
+    }
+
+    @Test
+    void rejectsSchemaWithCustomArguments() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(owner -> new SimpleArgument(owner) { }).addName("c").finishGeneral();
+        final Schema schema = manager.freeze();
+        // act & assert
+        assertTrue(schema.hasCustomArguments());
+        assertThrows(IllegalArgumentException.class, () -> new BatchParser(schema));
+    }
+
+    @Test
+    void convertsLazyValuesOfLines() throws ArgumentException, IOException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(IntegerArgument.class).addName("n").finishGeneral().setSeparator(',').convertLazily();
+        final Schema schema = manager.freeze();
+        final Path file = Files.createTempFile("clap", ".lines");
+        try {
+            Files.writeString(file, "-n 1,2\n-n 3,x\n");
+            final Map<Long, ParseResult> results = new ConcurrentHashMap<>();
+            // act
+            final BatchStatistics statistics = new BatchParser(schema).parse(file, results::put);
+            // assert
+            assertEquals(1, statistics.getPassed());
+            assertEquals(1, statistics.getFailures(ParseError.MALFORMED_VALUE));
+            final ParseResult second = results.get((long) "-n 1,2\n".length());
+            assertEquals(ParseError.MALFORMED_VALUE, second.getError());
+            assertEquals("Cannot parse to int value: x", second.getErrorMessage());
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package clap.publicApiTest;
+
+import clap.*;
+import clap.arguments.*;
+import clap.exceptions.ArgumentException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.BindException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Completion")
+final class CompletionTest {
+    private static final class Tool {
+        final Manager manager = new Manager(new String[]{});
+        final StringArgument format;
+        final CompletionEngine engine;
+
+        Tool() throws ArgumentException {
+            manager.makeArgument(SimpleArgument::new).addName("v").addName("verbose").finishGeneral();
+            format = manager.makeArgument(StringArgument::new).addName("format").finishGeneral();
+            manager.makeArgument(IntegerArgument::new).addName("force-level").finishGeneral();
+            manager.makeArgument(StringArgument::new).finishGeneral();
+            engine = new CompletionEngine(manager.freeze()).addValues(format, List.of("json", "jsonl", "text"));
+        }
+    }
+
+    @Test
+    void completesNames() throws ArgumentException {
+        // arrange
+        final CompletionEngine engine = new Tool().engine;
+        // act & assert
+        assertEquals(List.of("--force-level", "--format"), engine.complete(List.of("--f"), 0));
+        assertEquals(List.of("-force-level", "-format"), engine.complete(List.of("-v", "-fo"), 1));
+        assertEquals(List.of("--force-level", "--format", "-v", "--verbose"), engine.complete(List.of("-v"), 1));
+        assertEquals(List.of(), engine.complete(List.of("--x"), 0));
+        assertEquals(List.of(), engine.complete(List.of("input"), 0));
+        assertEquals(List.of(), engine.complete(List.of("--", "-"), 1));
+    }
+
+    @Test
+    void completesKnownValues() throws ArgumentException {
+        // arrange
+        final CompletionEngine engine = new Tool().engine;
+        // act & assert
+        assertEquals(List.of("json", "jsonl"), engine.complete(List.of("--format", "js"), 1));
+        assertEquals(List.of("json", "jsonl", "text"), engine.complete(List.of("-v", "--format"), 2));
+        assertEquals(List.of(), engine.complete(List.of("--force-level", ""), 1));
+        assertEquals(List.of("--force-level", "--format"), engine.complete(List.of("--format", "-v", "--f"), 2));
+    }
+
+    @Test
+    void rejectsInvalidRequests() throws ArgumentException {
+        // arrange
+        final Tool tool = new Tool();
+        final SimpleArgument foreign = new Manager(new String[]{}).makeArgument(StringArgument::new).finishGeneral();
+        // act & assert
+        assertThrows(IllegalArgumentException.class, () -> tool.engine.complete(List.of("-v"), 2));
+        assertThrows(IllegalArgumentException.class, () -> tool.engine.addValues(foreign, List.of()));
+    }
+
+    @Test
+    void servesCompletionsOverSocket() throws ArgumentException, IOException {
+        // arrange
+        final Path directory = Files.createTempDirectory("clap");
+        final Path socket = directory.resolve("completion.sock");
+        try (CompletionServer server = new CompletionServer(new Tool().engine, socket).start()) {
+            // act
+            final String first = request(socket, "1\0--format\0j\0");
+            final String second = request(socket, "0\0--verb\0");
+            // assert
+            assertEquals("json\njsonl\n", first);
+            assertEquals("--verbose\n", second);
+        }
+        finally {
+            assertFalse(Files.exists(socket));
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void servesOtherClientsWhileRequestIsIncomplete() throws ArgumentException, IOException {
+        // arrange
+        final Path directory = Files.createTempDirectory("clap");
+        final Path socket = directory.resolve("completion.sock");
+        try (CompletionServer server = new CompletionServer(new Tool().engine, socket).start();
+             SocketChannel stalled = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            stalled.write(ByteBuffer.wrap("0\0--verb".getBytes(StandardCharsets.UTF_8)));
+            // act
+            final String response = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> request(socket, "0\0--verb\0"));
+            // assert
+            assertEquals("--verbose\n", response);
+        }
+        finally {
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void doesNotReplaceOtherFiles() throws ArgumentException, IOException {
+        // arrange
+        final Path directory = Files.createTempDirectory("clap");
+        final Path file = Files.writeString(directory.resolve("completion.sock"), "data");
+        final CompletionServer server = new CompletionServer(new Tool().engine, file);
+        try {
+            // act & assert
+            assertThrows(BindException.class, server::start);
+            assertEquals("data", Files.readString(file));
+        }
+        finally {
+            Files.delete(file);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void replacesOnlyStaleSockets() throws ArgumentException, IOException {
+        // arrange
+        final Path directory = Files.createTempDirectory("clap");
+        final Path socket = directory.resolve("completion.sock");
+        try (ServerSocketChannel stale = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            stale.bind(UnixDomainSocketAddress.of(socket));
+        }
+        try (CompletionServer server = new CompletionServer(new Tool().engine, socket).start()) {
+            // act & assert
+            assertThrows(BindException.class, new CompletionServer(new Tool().engine, socket)::start);
+            assertEquals("--verbose\n", request(socket, "0\0--verb\0"));
+        }
+        finally {
+            Files.delete(directory);
+        }
+    }
+
+    private static String request(Path socket, String request) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            channel.write(ByteBuffer.wrap(request.getBytes(StandardCharsets.UTF_8)));
+            channel.shutdownOutput();
+            final InputStream input = Channels.newInputStream(channel);
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package clap.publicApiTest;
+
+import clap.*;
+import clap.arguments.*;
+import clap.exceptions.ArgumentException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Declaration snapshot")
+final class DeclarationSnapshotTest {
+    private static Manager declare() throws ArgumentException {
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(SimpleArgument::new).addName("v").addName("verbose").setDescription("Show more.").finishGeneral();
+        manager.makeArgument(StringArgument::new).addName("tags").finishGeneral().setSeparator(':').required();
+        manager.makeArgument(IntegerArgument::new).addName("size").setDescription("Sizes.").finishGeneral()
+                .setSeparator(',').allowExtendedSyntax().convertLazily();
+        manager.makeArgument(LongArgument::new).addName("offset").finishGeneral().allowExtendedSyntax();
+        manager.makeArgument(DoubleArgument::new).addName("ratios").finishGeneral().setSeparator(',').convertInParallel(4);
+        manager.makeArgument(StringArgument::new).setDescription("Input.").finishGeneral();
+        return manager;
+    }
+
+    @Test
+    void loadsSameDeclarations() throws ArgumentException, IOException {
+        // arrange
+        final Manager declared = declare();
+        final Path file = Files.createTempFile("clap", ".snapshot");
+        final String[] args = {"--verbose", "-tags", "a::b", "-size", "0x10,1_000", "-offset", "0x1_0000_0000", "-ratios", "0.5,1e-3", "in", "rest"};
+        try {
+            declared.exportSnapshot(file);
+            // act
+            final Manager loaded = Manager.loadSnapshot(file, args);
+            loaded.parseArguments();
+            // assert
+            assertEquals(declared.getHelp(), loaded.getHelp());
+            assertEquals(6, loaded.getArguments().size());
+            assertTrue(loaded.getArgument("v", SimpleArgument.class).isSet());
+            assertEquals("b", loaded.getArgument("tags", StringArgument.class).getValue(2));
+            assertArrayEquals(new int[]{16, 1000}, loaded.getArgument("size", IntegerArgument.class).toIntArray());
+            assertEquals(Long.valueOf(0x1_0000_0000L), loaded.getArgument("offset", LongArgument.class).getValue(0));
+            assertArrayEquals(new double[]{0.5, 1e-3}, loaded.getArgument("ratios", DoubleArgument.class).toDoubleArray());
+            assertEquals("in", ((StringArgument) loaded.getArguments().get(5)).getValue(0));
+            assertArrayEquals(new String[]{"rest"}, loaded.getTrailingArguments());
+            assertTrue(loaded.getArgument("tags", StringArgument.class).isRequired());
+            assertTrue(loaded.getArgument("size", IntegerArgument.class).convertsLazily());
+            assertFalse(loaded.isNameUnique("verbose"));
+            assertTrue(loaded.isNameUnique("quiet"));
+            assertThrows(ArgumentException.class, () -> loaded.getArgument("size", StringArgument.class));
+            assertThrows(ArgumentException.class, () -> loaded.getArgument("quiet", SimpleArgument.class));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void rejectsCorruptedSnapshots() throws ArgumentException, IOException {
+        // arrange
+        final Path file = Files.createTempFile("clap", ".snapshot");
+        try {
+            declare().exportSnapshot(file);
+            final byte[] bytes = Files.readAllBytes(file);
+            // act & assert
+            bytes[bytes.length - 1] ^= 1;
+            Files.write(file, bytes);
+            assertEquals("Snapshot " + file + " is corrupted!",
+                    assertThrows(IOException.class, () -> Manager.loadSnapshot(file, new String[]{})).getMessage());
+            bytes[bytes.length - 1] ^= 1;
+            ByteBuffer.wrap(bytes).putInt(4, 99);
+            Files.write(file, bytes);
+            assertEquals("Unsupported snapshot version 99",
+                    assertThrows(IOException.class, () -> Manager.loadSnapshot(file, new String[]{})).getMessage());
+            Files.write(file, new byte[]{1, 2, 3});
+            assertThrows(IOException.class, () -> Manager.loadSnapshot(file, new String[]{}));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void rejectsCustomArgumentTypes() throws ArgumentException, IOException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(owner -> new SimpleArgument(owner) {
+        }).addName("custom").finishGeneral();
+        final Path file = Files.createTempFile("clap", ".snapshot");
+        try {
+            // act & assert
+            assertThrows(ArgumentException.class, () -> manager.exportSnapshot(file));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package clap.publicApiTest;
+
+import clap.*;
+import clap.arguments.SimpleArgument;
+import clap.arguments.DoubleArgument;
+import clap.exceptions.ArgumentException;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Double argument")
+final class DoubleArgumentTest extends SimpleArgumentBaseTest {
+    @Test
+    void throwsOnInvalidValueInArgumentWithDoubleValidator() throws ArgumentException {
+        // arrange
+        final var args = new String[]{"-a", "0.5;1.5"};
+        final Manager manager = new Manager(args);
+        final var argA = manager.makeArgument(DoubleArgument.class).addName("a").finishGeneral().setSeparator(';');
+        argA.setDoubleValidator(value -> value >= 0 && value <= 1);
+        // act
+        final var exception = assertThrows(ArgumentException.class, manager::parseArguments);
+        // assert
+        assertEquals("Validation failed with value: 1.5", exception.getMessage());
+    }
+
+    @Test
+    void providesPrimitiveValues() throws ArgumentException {
+        // arrange
+        final var args = new String[]{"-a", "0.25,-2,1e3"};
+        final Manager manager = new Manager(args);
+        final var argA = manager.makeArgument(DoubleArgument.class).addName("a").finishGeneral().setSeparator(',');
+        final var argB = manager.makeArgument(DoubleArgument.class).addName("b").finishGeneral();
+        // act
+        manager.parseArguments();
+        // assert
+        assertEquals(-2.0, argA.getDouble(1));
+        assertEquals(Double.valueOf(1000.0), argA.getValue(2));
+        assertArrayEquals(new double[]{0.25, -2, 1000}, argA.toDoubleArray());
+        assertArrayEquals(new double[]{}, argB.toDoubleArray());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-0", "-0.0", "+5", "1.", ".5", "0.1", "-17.125", "3.141592653589793", "123456789012345678901234",
+            "0.000000000000000000000000001", "1e22", "1e23", "1E-5", "4.9e-324", "1e-400", "1.7976931348623157e308", "1e309",
+            "9007199254740993", "0.30000000000000004", "NaN", "-Infinity", "+Infinity"})
+    void parsesLikeDoubleParseDouble(String value) throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", value});
+        final var argA = manager.makeArgument(DoubleArgument.class).addName("a").finishGeneral();
+        // act
+        manager.parseArguments();
+        // assert
+        assertEquals(Double.parseDouble(value), argA.getDouble(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-", ".", "1a", "1e", "1e+", "1.2.3", "e5", " 1", "1 ", "0x10", "1d", "inf"})
+    void throwsOnInvalidDoubleValue(String value) throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", value});
+        manager.makeArgument(DoubleArgument.class).addName("a").finishGeneral();
+        // act
+        final var exception = assertThrows(ArgumentException.class, manager::parseArguments);
+        // assert
+        assertEquals("Cannot parse to double value: " + value, exception.getMessage());
+    }
+
+    @Override
+    Stream<String[]> stringValuesToParse() {
+        return Stream.of(new String[]{"1"}, new String[]{"1", "2.5"});
+    }
+
+    @TestFactory
+    Stream<DynamicTest> numberOfValuesIsSetCorrectly() {
+        return stringValuesToParse().map((valuesToParse) -> DynamicTest.dynamicTest("number of values set correctly for " + valuesToParse.length + " args", () -> {
+            // arrange
+            final var separator = ',';
+            final var listValueArgument = String.join(String.valueOf(separator), valuesToParse);
+            final Manager manager = new Manager(new String[]{listValueArgument});
+            final var arg = manager.makeArgument(DoubleArgument.class).finishGeneral();
+            arg.setSeparator(separator);
+
+            // act
+            manager.parseArguments();
+            // assert
+            assertEquals(valuesToParse.length, arg.getNumberOfValues());
+        }));
+    }
+
+    @Override
+    Class<? extends SimpleArgument> getArgumentClass() {
+        return DoubleArgument.class;
+    }
+}
@@ -5,6 +5,9 @@ import clap.arguments.SimpleArgument;
 import clap.arguments.IntegerArgument;
 import clap.exceptions.ArgumentException;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.stream.Stream;
 
@@ -43,6 +46,171 @@ final class IntegerArgumentTest extends SimpleArgumentBaseTest {
         assertDoesNotThrow(manager::parseArguments);
     }
 
+    @Test
+    void throwsOnSettingValueDirectly() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        final var argA = manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral();
+        // act & assert
+        assertThrows(UnsupportedOperationException.class, () -> argA.setValue("1"));
+    }
+
+    @Test
+    void throwsOnInvalidValueInArgumentWithIntValidator() throws ArgumentException {
+        // arrange
+        final var args = new String[]{"-a", "1,-1"};
+        final Manager manager = new Manager(args);
+        final var argA = manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral().setSeparator(',');
+        argA.setIntValidator(value -> value >= 0);
+        // act & assert
+        assertThrows(ArgumentException.class, manager::parseArguments);
+    }
+
+    @Test
+    void providesPrimitiveValues() throws ArgumentException {
+        // arrange
+        final var args = new String[]{"-a", "3,-2,7"};
+        final Manager manager = new Manager(args);
+        final var argA = manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral().setSeparator(',');
+        final var argB = manager.makeArgument(IntegerArgument.class).addName("b").finishGeneral();
+        // act
+        manager.parseArguments();
+        // assert
+        assertEquals(-2, argA.getInt(1));
+        assertArrayEquals(new int[]{3, -2, 7}, argA.toIntArray());
+        assertArrayEquals(new int[]{}, argB.toIntArray());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-0", "+5", "-17", "2147483647", "-2147483648", "007"})
+    void parsesLikeIntegerParseInt(String value) throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", value});
+        final var argA = manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral();
+        // act
+        manager.parseArguments();
+        // assert
+        assertEquals(Integer.parseInt(value), argA.getInt(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-", "+", "1a", "2147483648", "-2147483649", "99999999999", "0x10", "1_000", " 1"})
+    void throwsOnInvalidIntValue(String value) throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", value});
+        manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral();
+        // act & assert
+        assertThrows(ArgumentException.class, manager::parseArguments);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0x10,16", "-0XfF,-255", "1_000,1000", "0x7fff_ffff,2147483647", "-0x80000000,-2147483648"})
+    void parsesExtendedSyntax(String value, int expected) throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", value});
+        final var argA = manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral().allowExtendedSyntax();
+        // act
+        manager.parseArguments();
+        // assert
+        assertEquals(expected, argA.getInt(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0x", "_1", "1_", "0x_1", "0x80000000", "0xg"})
+    void throwsOnInvalidExtendedSyntax(String value) throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", value});
+        manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral().allowExtendedSyntax();
+        // act & assert
+        assertThrows(ArgumentException.class, manager::parseArguments);
+    }
+
+    @Test
+    void convertsLazilyOnAccess() throws ArgumentException {
+        // arrange
+        final var args = new String[]{"-a", "1,x,-3"};
+        final Manager manager = new Manager(args);
+        final var argA = manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral()
+                .setSeparator(',').setIntValidator(value -> value > 0).convertLazily();
+        // act & assert
+        assertDoesNotThrow(manager::parseArguments);
+        assertTrue(argA.isSet());
+        assertEquals(3, argA.getNumberOfValues());
+        assertEquals(1, argA.getInt(0));
+        final var malformed = assertThrows(ArgumentException.class, () -> argA.getInt(1));
+        assertEquals("Cannot parse to int value: x", malformed.getMessage());
+        final var rejected = assertThrows(ArgumentException.class, () -> argA.getValue(2));
+        assertEquals("Validation failed with value: -3", rejected.getMessage());
+    }
+
+    @Test
+    void validateAllReportsFirstInvalidLazyValue() throws ArgumentException {
+        // arrange
+        final var args = new String[]{"-a", "1,2,-3,x"};
+        final Manager manager = new Manager(args);
+        manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral()
+                .setSeparator(',').setIntValidator(value -> value > 0).convertLazily();
+        // act
+        final var exception = assertThrows(ArgumentException.class, manager::validateAll);
+        // assert
+        assertEquals("Validation failed with value: -3", exception.getMessage());
+    }
+
+    /**
+     * Joins the numbers from 0 to count - 1 with commas, the values on the given indexes are replaced.
+     */
+    private static String manyValues(int count, int malformedIndex, int negativeIndex) {
+        final var builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(i == malformedIndex ? "x" + i : i == negativeIndex ? Integer.toString(-i) : Integer.toString(i));
+        }
+        return builder.toString();
+    }
+
+    @Test
+    void convertsInParallelLikeSequentially() throws ArgumentException {
+        // arrange
+        final var value = manyValues(100_000, -1, -1);
+        final Manager sequential = new Manager(new String[]{"-a", value});
+        final var sequentialArg = sequential.makeArgument(IntegerArgument.class).addName("a").finishGeneral()
+                .setSeparator(',').setIntValidator(v -> v >= 0);
+        final Manager parallel = new Manager(new String[]{"-a", value});
+        final var parallelArg = parallel.makeArgument(IntegerArgument.class).addName("a").finishGeneral()
+                .setSeparator(',').setIntValidator(v -> v >= 0).convertInParallel(1000);
+        // act & assert
+        assertArrayEquals(sequentialArg.toIntArray(), parallelArg.toIntArray());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"70000,90000", "90000,70000", "-1,50001", "50001,-1"})
+    void reportsFirstFailureInParallelLikeSequentially(int malformedIndex, int negativeIndex) throws ArgumentException {
+        // arrange
+        final var value = manyValues(100_000, malformedIndex, negativeIndex);
+        final Manager sequential = new Manager(new String[]{"-a", value});
+        sequential.makeArgument(IntegerArgument.class).addName("a").finishGeneral()
+                .setSeparator(',').setValidator(v -> v >= 0);
+        final Manager parallel = new Manager(new String[]{"-a", value});
+        parallel.makeArgument(IntegerArgument.class).addName("a").finishGeneral()
+                .setSeparator(',').setValidator(v -> v >= 0).convertInParallel(1000);
+        // act
+        final var expected = assertThrows(ArgumentException.class, sequential::parseArguments);
+        final var actual = assertThrows(ArgumentException.class, parallel::parseArguments);
+        // assert
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+
+    @Test
+    void throwsOnNonPositiveParallelThreshold() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        final var argA = manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral();
+        // act & assert
+        assertThrows(ArgumentException.class, () -> argA.convertInParallel(0));
+    }
+
     @Override
     Stream<String[]> stringValuesToParse() {
         return Stream.of(new String[]{"1"}, new String[]{"1", "2"});
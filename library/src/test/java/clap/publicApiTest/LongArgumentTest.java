@@ -0,0 +1,110 @@
+package clap.publicApiTest;
+
+import clap.*;
+import clap.arguments.SimpleArgument;
+import clap.arguments.LongArgument;
+import clap.exceptions.ArgumentException;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Long argument")
+final class LongArgumentTest extends SimpleArgumentBaseTest {
+    @Test
+    void throwsOnInvalidValueInArgumentWithLongValidator() throws ArgumentException {
+        // arrange
+        final var args = new String[]{"-a", "1,-1"};
+        final Manager manager = new Manager(args);
+        final var argA = manager.makeArgument(LongArgument.class).addName("a").finishGeneral().setSeparator(',');
+        argA.setLongValidator(value -> value >= 0);
+        // act
+        final var exception = assertThrows(ArgumentException.class, manager::parseArguments);
+        // assert
+        assertEquals("Validation failed with value: -1", exception.getMessage());
+    }
+
+    @Test
+    void providesPrimitiveValues() throws ArgumentException {
+        // arrange
+        final var args = new String[]{"-a", "3,-2,9000000000"};
+        final Manager manager = new Manager(args);
+        final var argA = manager.makeArgument(LongArgument.class).addName("a").finishGeneral().setSeparator(',');
+        final var argB = manager.makeArgument(LongArgument.class).addName("b").finishGeneral();
+        // act
+        manager.parseArguments();
+        // assert
+        assertEquals(-2L, argA.getLong(1));
+        assertEquals(Long.valueOf(9000000000L), argA.getValue(2));
+        assertArrayEquals(new long[]{3, -2, 9000000000L}, argA.toLongArray());
+        assertArrayEquals(new long[]{}, argB.toLongArray());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-0", "+5", "-17", "9223372036854775807", "-9223372036854775808", "007"})
+    void parsesLikeLongParseLong(String value) throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", value});
+        final var argA = manager.makeArgument(LongArgument.class).addName("a").finishGeneral();
+        // act
+        manager.parseArguments();
+        // assert
+        assertEquals(Long.parseLong(value), argA.getLong(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-", "+", "1a", "9223372036854775808", "-9223372036854775809", "0x10", "1_000", " 1"})
+    void throwsOnInvalidLongValue(String value) throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", value});
+        manager.makeArgument(LongArgument.class).addName("a").finishGeneral();
+        // act
+        final var exception = assertThrows(ArgumentException.class, manager::parseArguments);
+        // assert
+        assertEquals("Cannot parse to long value: " + value, exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0x10,16", "-0XfF,-255", "1_000_000_000_000,1000000000000", "0x7fff_ffff_ffff_ffff,9223372036854775807",
+            "-0x8000000000000000,-9223372036854775808"})
+    void parsesExtendedSyntax(String value, long expected) throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", value});
+        final var argA = manager.makeArgument(LongArgument.class).addName("a").finishGeneral().allowExtendedSyntax();
+        // act
+        manager.parseArguments();
+        // assert
+        assertEquals(expected, argA.getLong(0));
+    }
+
+    @Override
+    Stream<String[]> stringValuesToParse() {
+        return Stream.of(new String[]{"1"}, new String[]{"1", "2"});
+    }
+
+    @TestFactory
+    Stream<DynamicTest> numberOfValuesIsSetCorrectly() {
+        return stringValuesToParse().map((valuesToParse) -> DynamicTest.dynamicTest("number of values set correctly for " + valuesToParse.length + " args", () -> {
+            // arrange
+            final var separator = ',';
+            final var listValueArgument = String.join(String.valueOf(separator), valuesToParse);
+            final Manager manager = new Manager(new String[]{listValueArgument});
+            final var arg = manager.makeArgument(LongArgument.class).finishGeneral();
+            arg.setSeparator(separator);
+
+            // act
+            manager.parseArguments();
+            // assert
+            assertEquals(valuesToParse.length, arg.getNumberOfValues());
+        }));
+    }
+
+    @Override
+    Class<? extends SimpleArgument> getArgumentClass() {
+        return LongArgument.class;
+    }
+}
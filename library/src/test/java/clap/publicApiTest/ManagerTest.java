@@ -10,9 +10,15 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -57,6 +63,290 @@ final class ManagerTest {
         assertThrows(ArgumentException.class, manager::parseArguments);
     }
 
+    @Test
+    void allowsParsingAgainAfterReset() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", "first", "-v", "plain"});
+        final var optA = manager.makeArgument(StringArgument.class).addName("a").finishGeneral();
+        final var optV = manager.makeArgument(SimpleArgument.class).addName("v").finishGeneral();
+        manager.parseArguments();
+        // act
+        manager.reset(new String[]{"-a", "second"});
+        manager.parseArguments();
+        // assert
+        assertEquals("second", optA.getValue(0));
+        assertFalse(optV.isSet());
+        assertEquals(1, manager.getParsedArgumentsCount());
+        assertArrayEquals(new String[]{}, manager.getTrailingArguments());
+    }
+
+    @Test
+    void clearsValuesOnReset() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", "1,2"});
+        final var optA = manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral().setSeparator(',');
+        manager.parseArguments();
+        // act
+        manager.reset(new String[]{});
+        // assert
+        assertFalse(manager.areArgumentsParsed());
+        assertEquals(0, optA.getNumberOfValues());
+    }
+
+    @Test
+    void tryParseArgumentsReusesResultAfterReset() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-x"});
+        final var optA = manager.makeArgument(StringArgument.class).addName("a").finishGeneral();
+        // act
+        final ParseResult failed = manager.tryParseArguments();
+        final ParseError error = failed.getError();
+        manager.reset(new String[]{"-a", "value"});
+        final ParseResult succeeded = manager.tryParseArguments();
+        // assert
+        assertEquals(ParseError.UNKNOWN_ARGUMENT, error);
+        assertSame(failed, succeeded);
+        assertTrue(succeeded.isSuccessful());
+        assertEquals("value", optA.getValue(0));
+    }
+
+    @Test
+    void appliesSeparatorSetAfterParsingOnReset() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", "1"});
+        final var optA = manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral();
+        manager.parseArguments();
+        // act
+        optA.setSeparator(',');
+        manager.reset(new String[]{"-a", "1,2"});
+        manager.parseArguments();
+        // assert
+        assertEquals(2, optA.getNumberOfValues());
+        assertEquals(Integer.valueOf(1), optA.getValue(0));
+        assertEquals(Integer.valueOf(2), optA.getValue(1));
+    }
+
+    @Test
+    void requiresArgumentMarkedAfterParsingOnReset() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", "1"});
+        final var optA = manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral();
+        manager.parseArguments();
+        // act
+        optA.required();
+        manager.reset(new String[]{});
+        // assert
+        assertThrows(ArgumentException.class, manager::parseArguments);
+    }
+
+    @Test
+    void getHelpDescribesArguments() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(SimpleArgument.class).addName("v").addName("version").setDescription("Show version.").finishGeneral();
+        manager.makeArgument(StringArgument.class).finishGeneral();
+        // act
+        final String help = manager.getHelp();
+        // assert
+        assertEquals("Argument names: [v, version]\nDescription:    Show version.\n\n"
+                + "Argument names: []\nDescription:    null\n\n", help);
+    }
+
+    @Test
+    void getHelpReflectsChangedArguments() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        final var builder = manager.makeArgument(SimpleArgument.class).addName("a");
+        final String before = manager.getHelp();
+        // act
+        builder.setDescription("Changed.");
+        manager.makeArgument(SimpleArgument.class).addName("b").finishGeneral();
+        final String after = manager.getHelp();
+        // assert
+        assertNotEquals(before, after);
+        assertEquals("Argument names: [a]\nDescription:    Changed.\n\nArgument names: [b]\nDescription:    null\n\n", after);
+    }
+
+    @Test
+    void writeHelpWritesSameHelp() throws ArgumentException, IOException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(IntegerArgument.class).addName("n").setDescription("Number.").finishGeneral();
+        final StringWriter writer = new StringWriter();
+        // act
+        manager.writeHelp(writer);
+        // assert
+        assertEquals(manager.getHelp(), writer.toString());
+        assertSame(manager.getHelp(), manager.getHelp());
+    }
+
+    @Test
+    void expandsResponseFiles() throws ArgumentException, IOException {
+        // arrange
+        final Path file = Files.createTempFile("clap", ".args");
+        try {
+            Files.writeString(file, "-a  'first value'\n -n 1,2\t\"quoted \\\" plain\" @nested\n");
+            final Manager manager = new Manager(new String[]{"-v", "@" + file, "last"}).enableResponseFiles();
+            final var optA = manager.makeArgument(StringArgument.class).addName("a").finishGeneral();
+            final var optN = manager.makeArgument(IntegerArgument.class).addName("n").finishGeneral().setSeparator(',');
+            manager.makeArgument(SimpleArgument.class).addName("v").finishGeneral();
+            // act
+            manager.parseArguments();
+            // assert
+            assertEquals("first value", optA.getValue(0));
+            assertArrayEquals(new int[]{1, 2}, optN.toIntArray());
+            assertArrayEquals(new String[]{"quoted \" plain", "@nested", "last"}, manager.getTrailingArguments());
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void expandsCompressedResponseFiles() throws ArgumentException, IOException {
+        // arrange
+        final Path file = Files.createTempFile("clap", ".args.gz");
+        try {
+            try (var out = new GZIPOutputStream(Files.newOutputStream(file))) {
+                out.write("-a value".getBytes(StandardCharsets.UTF_8));
+            }
+            final Manager manager = new Manager(new String[]{"@" + file}).enableResponseFiles();
+            final var optA = manager.makeArgument(StringArgument.class).addName("a").finishGeneral();
+            // act
+            manager.parseArguments();
+            // assert
+            assertEquals("value", optA.getValue(0));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void reportsUnreadableResponseFile() {
+        // arrange
+        final Manager manager = new Manager(new String[]{"plain", "@/nonexistent/clap.args"}).enableResponseFiles();
+        // act
+        final ParseResult result = manager.tryParseArguments();
+        // assert
+        assertEquals(ParseError.RESPONSE_FILE_UNREADABLE, result.getError());
+        assertEquals(1, result.getErrorIndex());
+        assertEquals("Cannot read response file /nonexistent/clap.args", result.getErrorMessage());
+    }
+
+    @Test
+    void keepsResponseFileTokensByDefault() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"@/nonexistent/clap.args"});
+        // act
+        manager.parseArguments();
+        // assert
+        assertArrayEquals(new String[]{"@/nonexistent/clap.args"}, manager.getTrailingArguments());
+    }
+
+    @Test
+    void makesArgumentsWithFactory() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", "1", "-v"});
+        // act
+        final var optA = manager.makeArgument(IntegerArgument::new).addName("a").finishGeneral();
+        final var optV = manager.makeArgument(SimpleArgument::new).addName("v").finishGeneral();
+        // assert
+        assertEquals(1, optA.getInt(0));
+        assertTrue(optV.isSet());
+    }
+
+    @Test
+    void throwsOnFailingFactory() {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        // act & assert
+        assertThrows(ArgumentException.class, () -> manager.makeArgument((Manager m) -> (SimpleArgument) null));
+        assertThrows(ArgumentException.class, () -> manager.makeArgument((Manager m) -> {
+            throw new IllegalStateException();
+        }));
+    }
+
+    /**
+     * Argument type without a constructor taking the manager.
+     */
+    static final class ArgumentWithoutConstructor extends SimpleArgument {
+        ArgumentWithoutConstructor() {
+            super(null);
+        }
+    }
+    @Test
+    void throwsOnTypeWithoutConstructor() {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        // act & assert
+        assertThrows(ArgumentException.class, () -> manager.makeArgument(ArgumentWithoutConstructor.class));
+    }
+
+    /**
+     * Argument type whose constructor fails with an error.
+     */
+    public static final class ArgumentWithFailingConstructor extends SimpleArgument {
+        public ArgumentWithFailingConstructor(Manager owner) {
+            super(owner);
+            throw new StackOverflowError();
+        }
+    }
+
+    /**
+     * Argument type whose constructor fails with an exception.
+     */
+    public static final class ArgumentWithThrowingConstructor extends SimpleArgument {
+        public ArgumentWithThrowingConstructor(Manager owner) {
+            super(owner);
+            throw new IllegalStateException();
+        }
+    }
+
+    @Test
+    void wrapsExceptionsOfConstructor() {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        // act & assert
+        assertThrows(ArgumentException.class, () -> manager.makeArgument(ArgumentWithThrowingConstructor.class));
+    }
+
+    @Test
+    void propagatesErrorsOfConstructor() {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        // act & assert
+        assertThrows(StackOverflowError.class, () -> manager.makeArgument(ArgumentWithFailingConstructor.class));
+    }
+
+    @Test
+    void isNameUniqueSeesNamesAddedToList() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        final StringArgument argument = manager.makeArgument(StringArgument.class).addName("a").finishGeneral();
+        // act
+        argument.names.add("b");
+        argument.names.set(0, "c");
+        // assert
+        assertFalse(manager.isNameUnique("b"));
+        assertFalse(manager.isNameUnique("c"));
+        assertTrue(manager.isNameUnique("a"));
+        assertThrows(ArgumentException.class, () -> manager.makeArgument(StringArgument.class).addName("b"));
+    }
+
+    @Test
+    void parsesNamesAddedToList() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-b", "value"});
+        final StringArgument argument = manager.makeArgument(StringArgument.class).addName("a").finishGeneral();
+        manager.freeze();
+        // act
+        argument.names.add("b");
+        manager.parseArguments();
+        // assert
+        assertEquals("value", argument.getValue(0));
+    }
+
     @Test
     void allowsMixingPlainArgumentsAndOptions() throws ArgumentException {
         // arrange
@@ -247,6 +537,17 @@ final class ManagerTest {
         assertThrows(ArgumentException.class, manager::parseArguments);
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"---a", "--b", "-"})
+    void throwsOnOptionNotMatchingAfterStrippingDashes(String optionName) throws ArgumentException {
+        // arrange
+        final String[] args = new String[]{optionName};
+        final Manager manager = new Manager(args);
+        manager.makeArgument(SimpleArgument.class).addName("a").finishGeneral();
+        // act & assert
+        assertThrows(ArgumentException.class, manager::parseArguments);
+    }
+
     /**
      * Provides arguments for {@link #getParsedArgumentCountReturnsCorrectNumber(String[])}.
      * @return Stream of arguments.
@@ -0,0 +1,89 @@
+package clap.publicApiTest;
+
+import clap.*;
+import clap.arguments.*;
+import clap.exceptions.ArgumentException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Name suggestions")
+final class NameSuggestionsTest {
+    @Test
+    void suggestsClosestNamesFirst() {
+        // arrange
+        final NameSuggestions suggestions = new NameSuggestions(List.of("port", "sort", "portability", "verbose", "post"));
+        // act & assert
+        assertEquals(List.of("port", "post"), suggestions.suggest("prot"));
+        assertEquals(List.of("verbose"), suggestions.suggest("verbsoe"));
+        assertEquals(List.of(), suggestions.suggest("x"));
+        assertEquals("Unknown argument name --prot, did you mean --port or --post?", suggestions.describeUnknownArgument("--prot"));
+        assertEquals("Unknown argument name -quiet", suggestions.describeUnknownArgument("-quiet"));
+    }
+
+    @Test
+    void findsSameNamesAsFullScan() {
+        // arrange
+        final Random random = new Random(42);
+        final List<String> names = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            names.add(randomName(random));
+        }
+        final NameSuggestions suggestions = new NameSuggestions(names);
+        for (int i = 0; i < 200; i++) {
+            final String unknown = randomName(random);
+            // act
+            final List<String> suggested = suggestions.suggest(unknown);
+            // assert
+            final int bound = unknown.length() < 3 ? 0 : unknown.length() < 4 ? 1 : 2;
+            final long expected = names.stream().distinct().filter(name -> distance(unknown, name) <= bound).count();
+            assertEquals(Math.min(3, expected), suggested.size());
+            for (String name : suggested) {
+                assertTrue(distance(unknown, name) <= bound);
+            }
+        }
+    }
+
+    @Test
+    void suggestsNamesOfSchema() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(SimpleArgument::new).addName("verbose").finishGeneral();
+        manager.makeArgument(StringArgument::new).addName("output").finishGeneral();
+        final Schema schema = manager.freeze();
+        // act
+        final ParseResult result = schema.tryParse(new String[]{"--ouptut", "file"});
+        // assert
+        assertEquals(ParseError.UNKNOWN_ARGUMENT, result.getError());
+        assertEquals("Unknown argument name --ouptut, did you mean --output?", result.getErrorMessage());
+    }
+
+    private static String randomName(Random random) {
+        final char[] name = new char[3 + random.nextInt(6)];
+        for (int i = 0; i < name.length; i++) {
+            name[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(name);
+    }
+
+    private static int distance(String first, String second) {
+        final int[][] table = new int[first.length() + 1][second.length() + 1];
+        for (int i = 0; i <= first.length(); i++) {
+            for (int j = 0; j <= second.length(); j++) {
+                if (i == 0 || j == 0) {
+                    table[i][j] = i + j;
+                }
+                else {
+                    table[i][j] = Math.min(table[i - 1][j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1),
+                            Math.min(table[i - 1][j], table[i][j - 1]) + 1);
+                }
+            }
+        }
+        return table[first.length()][second.length()];
+    }
+}
@@ -0,0 +1,164 @@
+package clap.publicApiTest;
+
+import clap.*;
+import clap.arguments.*;
+import clap.exceptions.ArgumentException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.BindException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Parse daemon")
+final class ParseDaemonTest {
+    private static final class Tool {
+        final Manager manager = new Manager(new String[]{});
+        final IntegerArgument numbers;
+        final SimpleArgument fail;
+
+        Tool() throws ArgumentException {
+            numbers = manager.makeArgument(IntegerArgument::new).addName("n").finishGeneral().setSeparator(',').required();
+            fail = manager.makeArgument(SimpleArgument::new).addName("fail").finishGeneral();
+            manager.makeArgument(StringArgument::new).finishGeneral().convertLazily();
+        }
+
+        String handle(ParseResult result) {
+            if (result.isSet(fail)) {
+                throw new IllegalStateException("Failed on request");
+            }
+            int sum = 0;
+            for (int value : result.toIntArray(numbers)) {
+                sum += value;
+            }
+            return Integer.toString(sum);
+        }
+    }
+
+    @Test
+    void repliesWithValuesAndOutput() throws ArgumentException, IOException {
+        // arrange
+        final Tool tool = new Tool();
+        final Path directory = Files.createTempDirectory("clap");
+        try (ParseDaemon daemon = new ParseDaemon(tool.manager.freeze(), tool::handle, directory.resolve("daemon.sock")).start();
+             ParseDaemonClient client = new ParseDaemonClient(daemon.getSocket())) {
+            // act
+            final DaemonReply parsed = client.parse(new String[]{"-n", "1,2,3", "input", "rest"});
+            final DaemonReply malformed = client.parse(new String[]{"-n", "1,x"});
+            final DaemonReply missing = client.parse(new String[]{"input"});
+            final DaemonReply failed = client.parse(new String[]{"-n", "1", "--fail"});
+            // assert
+            assertTrue(parsed.isSuccessful());
+            assertEquals("6", parsed.getOutput());
+            assertArrayEquals(new String[]{"1", "2", "3"}, parsed.getValues(0));
+            assertFalse(parsed.isSet(1));
+            assertNull(parsed.getValues(1));
+            assertArrayEquals(new String[]{"input"}, parsed.getValues(2));
+            assertArrayEquals(new String[]{"rest"}, parsed.getTrailingArguments());
+            assertFalse(malformed.isSuccessful());
+            assertEquals(ParseError.MALFORMED_VALUE, malformed.getError());
+            assertEquals(1, malformed.getErrorIndex());
+            assertEquals("Cannot parse to int value: x", malformed.getErrorMessage());
+            assertEquals(ParseError.MISSING_REQUIRED_ARGUMENT, missing.getError());
+            assertFalse(failed.isSuccessful());
+            assertNull(failed.getError());
+            assertEquals("Failed on request", failed.getErrorMessage());
+        }
+        finally {
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void servesClientsConcurrently() throws ArgumentException, IOException, InterruptedException, ExecutionException {
+        // arrange
+        final Tool tool = new Tool();
+        final Path directory = Files.createTempDirectory("clap");
+        final ExecutorService clients = Executors.newFixedThreadPool(4);
+        try (ParseDaemon daemon = new ParseDaemon(tool.manager.freeze(), tool::handle, directory.resolve("daemon.sock")).start()) {
+            // act
+            final List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                final int offset = i;
+                futures.add(clients.submit(() -> {
+                    try (ParseDaemonClient client = new ParseDaemonClient(daemon.getSocket())) {
+                        for (int j = 0; j < 100; j++) {
+                            final DaemonReply reply = client.parse(new String[]{"-n", offset + "," + j});
+                            if (!reply.getOutput().equals(Integer.toString(offset + j))) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            // assert
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        }
+        finally {
+            clients.shutdown();
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void doesNotExpandResponseFilesOfClients() throws ArgumentException, IOException {
+        // arrange
+        final Tool tool = new Tool();
+        tool.manager.enableResponseFiles();
+        final Path directory = Files.createTempDirectory("clap");
+        final Path responseFile = Files.writeString(directory.resolve("args"), "--fail\n");
+        try (ParseDaemon daemon = new ParseDaemon(tool.manager.freeze(), tool::handle, directory.resolve("daemon.sock")).start();
+             ParseDaemonClient client = new ParseDaemonClient(daemon.getSocket())) {
+            // act
+            final DaemonReply reply = client.parse(new String[]{"-n", "1", "@" + responseFile});
+            // assert
+            assertTrue(reply.isSuccessful());
+            assertEquals("1", reply.getOutput());
+            assertArrayEquals(new String[]{"@" + responseFile}, reply.getValues(2));
+        }
+        finally {
+            Files.delete(responseFile);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void doesNotReplaceOtherFiles() throws ArgumentException, IOException {
+        // arrange
+        final Tool tool = new Tool();
+        final Path directory = Files.createTempDirectory("clap");
+        final Path file = Files.writeString(directory.resolve("daemon.sock"), "data");
+        final ParseDaemon daemon = new ParseDaemon(tool.manager.freeze(), tool::handle, file);
+        try {
+            // act & assert
+            assertThrows(BindException.class, daemon::start);
+            assertEquals("data", Files.readString(file));
+        }
+        finally {
+            Files.delete(file);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void rejectsSchemaWithCustomArguments() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(owner -> new SimpleArgument(owner) { }).addName("c").finishGeneral();
+        final Schema schema = manager.freeze();
+        // act & assert
+        assertThrows(IllegalArgumentException.class, () -> new ParseDaemon(schema, null, Path.of("daemon.sock")));
+    }
+}
@@ -0,0 +1,161 @@
+package clap.publicApiTest;
+
+import clap.*;
+import clap.arguments.*;
+import clap.exceptions.ArgumentException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Parse metrics")
+final class ParseMetricsTest {
+    @Test
+    void reportsEachPhase() throws ArgumentException {
+        // arrange
+        final List<ParsePhase> phases = new ArrayList<>();
+        final List<ParseError> outcomes = new ArrayList<>();
+        final Manager manager = new Manager(new String[]{"-a", "1,2", "-v", "plain"});
+        manager.setParseListener(new ParseListener() {
+            @Override
+            public void phaseFinished(ParsePhase phase, long nanos) {
+                assertTrue(nanos >= 0);
+                phases.add(phase);
+            }
+
+            @Override
+            public void parseFinished(int tokens, ParseError error, long nanos) {
+                assertEquals(4, tokens);
+                outcomes.add(error);
+            }
+        });
+        manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral().setSeparator(',').required();
+        manager.makeArgument(SimpleArgument.class).addName("v").finishGeneral();
+        // act
+        manager.parseArguments();
+        // assert
+        assertEquals(List.of(ParsePhase.SORT_ARGUMENTS, ParsePhase.FIND_ARGUMENT, ParsePhase.CONVERSION, ParsePhase.VALIDATION,
+                ParsePhase.FIND_ARGUMENT, ParsePhase.TOKEN_LOOP, ParsePhase.CHECK_REQUIRED_ARGUMENTS), phases);
+        assertEquals(1, outcomes.size());
+        assertNull(outcomes.get(0));
+    }
+
+    @Test
+    void aggregatesParsesAndFailures() throws ArgumentException {
+        // arrange
+        final ParseMetrics metrics = new ParseMetrics();
+        final Manager manager = new Manager(new String[]{}).setParseListener(metrics);
+        manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral().setIntValidator(value -> value > 0);
+        final Schema schema = manager.freeze();
+        // act
+        schema.tryParse(new String[]{"-a", "1"});
+        schema.tryParse(new String[]{"-a", "x"});
+        schema.tryParse(new String[]{"-a", "-1"});
+        schema.tryParse(new String[]{"-b"});
+        // assert
+        assertEquals(4, metrics.getParses());
+        assertEquals(3, metrics.getFailedParses());
+        assertEquals(7, metrics.getTokens());
+        assertEquals(Long.valueOf(1), metrics.getFailures().get("MALFORMED_VALUE"));
+        assertEquals(Long.valueOf(1), metrics.getFailures().get("VALIDATION_FAILED"));
+        assertEquals(Long.valueOf(1), metrics.getFailures().get("UNKNOWN_ARGUMENT"));
+        assertEquals(Long.valueOf(3), metrics.getPhaseCounts().get("CONVERSION"));
+        assertEquals(Long.valueOf(2), metrics.getPhaseCounts().get("VALIDATION"));
+        assertEquals(Long.valueOf(1), metrics.getPhaseCounts().get("CHECK_REQUIRED_ARGUMENTS"));
+        metrics.reset();
+        assertEquals(0, metrics.getParses());
+    }
+
+    @Test
+    void isExposedAsMXBean() throws ArgumentException, JMException {
+        // arrange
+        final ParseMetrics metrics = new ParseMetrics();
+        final Manager manager = new Manager(new String[]{"-v"}).setParseListener(metrics);
+        manager.makeArgument(SimpleArgument.class).addName("v").finishGeneral();
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        // act
+        final ObjectName name = metrics.register("test tool");
+        try {
+            manager.parseArguments();
+            // assert
+            assertEquals(1L, server.getAttribute(name, "Parses"));
+            assertEquals(1L, server.getAttribute(name, "Tokens"));
+        }
+        finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    void recordsFlightRecorderEvents() throws ArgumentException, IOException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral().setSeparator(',').setIntValidator(value -> value > 0);
+        final Schema schema = manager.freeze();
+        final Path file = Files.createTempFile("clap", ".jfr");
+        // act
+        try (Recording recording = new Recording()) {
+            recording.enable("clap.Parse");
+            recording.enable("clap.Validation");
+            recording.start();
+            schema.tryParse(new String[]{"-a", "1,2,3"});
+            schema.tryParse(new String[]{"-a", "1,-2"});
+            recording.stop();
+            recording.dump(file);
+        }
+        // assert
+        try {
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            final List<RecordedEvent> parses = events.stream().filter(e -> e.getEventType().getName().equals("clap.Parse")).toList();
+            final List<RecordedEvent> validations = events.stream().filter(e -> e.getEventType().getName().equals("clap.Validation")).toList();
+            assertEquals(2, parses.size());
+            assertEquals(2, parses.get(0).getInt("tokens"));
+            assertEquals(1, parses.get(0).getInt("arguments"));
+            assertEquals("SUCCESS", parses.get(0).getString("outcome"));
+            assertEquals("VALIDATION_FAILED", parses.get(1).getString("outcome"));
+            assertEquals(2, validations.size());
+            assertEquals("[a]", validations.get(0).getString("argument"));
+            assertEquals(3, validations.get(0).getInt("values"));
+            assertTrue(validations.get(0).getBoolean("valid"));
+            assertFalse(validations.get(1).getBoolean("valid"));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void flightRecorderEventsAreDisabledByDefault() throws IOException {
+        // arrange
+        final Schema schema = new Manager(new String[]{}).freeze();
+        final Path file = Files.createTempFile("clap", ".jfr");
+        // act
+        try (Recording recording = new Recording()) {
+            recording.start();
+            schema.tryParse(new String[]{});
+            recording.stop();
+            recording.dump(file);
+        }
+        // assert
+        try {
+            assertTrue(RecordingFile.readAllEvents(file).stream().noneMatch(e -> e.getEventType().getName().startsWith("clap.")));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package clap.publicApiTest;
+
+import clap.Manager;
+import clap.arguments.*;
+import clap.exceptions.ArgumentException;
+import clap.generator.CommandLine;
+import clap.generator.Option;
+import clap.generator.ParserProcessor;
+import clap.generator.Trailing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.tools.*;
+import java.io.StringWriter;
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Generated parser")
+final class ParserProcessorTest {
+    /**
+     * Options class of the generated {@code ToolOptionsParser}.
+     */
+    @CommandLine
+    static final class ToolOptions {
+        @Option(names = {"v", "verbose"}, description = "Show more.")
+        boolean verbose;
+        @Option(names = "name", description = "The name.")
+        String name;
+        @Option(names = "size", separator = ",", required = true, extendedSyntax = true)
+        int[] sizes;
+        @Option(names = "tags", separator = ":")
+        String[] tags;
+        @Option(names = "offset", extendedSyntax = true)
+        long offset;
+        @Option(names = "ratios", separator = ",")
+        double[] ratios;
+        @Option
+        String input;
+        @Option
+        int count;
+        @Trailing
+        String[] rest;
+    }
+
+    /**
+     * Defines the same arguments as {@link ToolOptions} in a manager.
+     */
+    private static final class ManagerOptions {
+        final Manager manager;
+        final SimpleArgument verbose;
+        final StringArgument name;
+        final IntegerArgument sizes;
+        final StringArgument tags;
+        final LongArgument offset;
+        final DoubleArgument ratios;
+        final StringArgument input;
+        final IntegerArgument count;
+
+        ManagerOptions(String[] args) throws ArgumentException {
+            manager = new Manager(args);
+            verbose = manager.makeArgument(SimpleArgument::new).addName("v").addName("verbose").setDescription("Show more.").finishGeneral();
+            name = manager.makeArgument(StringArgument::new).addName("name").setDescription("The name.").finishGeneral();
+            sizes = manager.makeArgument(IntegerArgument::new).addName("size").setDescription("").finishGeneral()
+                    .setSeparator(',').required().allowExtendedSyntax();
+            tags = manager.makeArgument(StringArgument::new).addName("tags").setDescription("").finishGeneral().setSeparator(':');
+            offset = manager.makeArgument(LongArgument::new).addName("offset").setDescription("").finishGeneral().allowExtendedSyntax();
+            ratios = manager.makeArgument(DoubleArgument::new).addName("ratios").setDescription("").finishGeneral().setSeparator(',');
+            input = manager.makeArgument(StringArgument::new).setDescription("").finishGeneral();
+            count = manager.makeArgument(IntegerArgument::new).setDescription("").finishGeneral();
+        }
+    }
+
+    @Test
+    void fillsTypedFields() throws ArgumentException {
+        // act
+        final ToolOptions options = ToolOptionsParser.parse(new String[]{
+                "--verbose", "-name", "x", "--size", "1,0x10,1_000", "in", "3", "-tags", "a::b::", "-offset", "0x1_0000_0000", "-ratios", "0.5,1e-3", "t1", "--", "-t2"});
+        // assert
+        assertTrue(options.verbose);
+        assertEquals("x", options.name);
+        assertArrayEquals(new int[]{1, 16, 1000}, options.sizes);
+        assertArrayEquals(new String[]{"a", "", "b"}, options.tags);
+        assertEquals(0x1_0000_0000L, options.offset);
+        assertArrayEquals(new double[]{0.5, 1e-3}, options.ratios);
+        assertEquals("in", options.input);
+        assertEquals(3, options.count);
+        assertArrayEquals(new String[]{"t1", "-t2"}, options.rest);
+    }
+
+    static Stream<Arguments> commandLines() {
+        return Stream.of(
+                Arguments.of((Object) new String[]{"-size", "1", "-v", "in", "2", "t"}),
+                Arguments.of((Object) new String[]{"-size", "1", "-x"}),
+                Arguments.of((Object) new String[]{"-size", "1", "--verbos"}),
+                Arguments.of((Object) new String[]{"-size"}),
+                Arguments.of((Object) new String[]{"-size", "1,a"}),
+                Arguments.of((Object) new String[]{"-size", "1", "in", "two"}),
+                Arguments.of((Object) new String[]{"-size", "1", "-offset", "1e3"}),
+                Arguments.of((Object) new String[]{"-size", "1", "-ratios", "1,x"}),
+                Arguments.of((Object) new String[]{"-v", "in"}),
+                Arguments.of((Object) new String[]{"-", "-size", "1"}),
+                Arguments.of((Object) new String[]{"---size", "1"}),
+                Arguments.of((Object) new String[]{"--", "-size", "1"})
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("commandLines")
+    void matchesManager(String[] args) throws ArgumentException {
+        // arrange
+        final ManagerOptions expected = new ManagerOptions(args);
+        String expectedMessage = null;
+        try {
+            expected.manager.parseArguments();
+        }
+        catch (ArgumentException e) {
+            expectedMessage = e.getMessage();
+        }
+        // act
+        String actualMessage = null;
+        ToolOptions actual = null;
+        try {
+            actual = ToolOptionsParser.parse(args);
+        }
+        catch (ArgumentException e) {
+            actualMessage = e.getMessage();
+        }
+        // assert
+        assertEquals(expectedMessage, actualMessage);
+        if (actual != null) {
+            assertEquals(expected.verbose.isSet(), actual.verbose);
+            assertArrayEquals(expected.sizes.toIntArray(), actual.sizes);
+            assertEquals(expected.input.isSet() ? expected.input.getValue(0) : null, actual.input);
+            assertArrayEquals(expected.manager.getTrailingArguments(), actual.rest);
+        }
+    }
+
+    @Test
+    void generatesSameHelpAsManager() throws ArgumentException {
+        // arrange
+        final ManagerOptions expected = new ManagerOptions(new String[]{});
+        // act & assert
+        assertEquals(expected.manager.getHelp(), ToolOptionsParser.getHelp());
+    }
+
+    @Test
+    void reportsInvalidDeclarations() {
+        // arrange
+        final String source = "import clap.generator.*;\n"
+                + "@CommandLine class Invalid {\n"
+                + "    @Option(names = \"a\") boolean first;\n"
+                + "    @Option(names = \"a\", separator = \",\") int second;\n"
+                + "}\n";
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///Invalid.java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        final JavaCompiler.CompilationTask task = compiler.getTask(new StringWriter(), null, diagnostics,
+                List.of("-proc:only", "-classpath", System.getProperty("java.class.path")), null, List.of(file));
+        task.setProcessors(List.of(new ParserProcessor()));
+        // act
+        final boolean compiled = task.call();
+        // assert
+        assertFalse(compiled);
+        final List<String> messages = diagnostics.getDiagnostics().stream().map(d -> d.getMessage(null)).toList();
+        assertTrue(messages.contains("Argument name a is already taken."));
+        assertTrue(messages.contains("Only array fields can have a separator."));
+    }
+}
@@ -0,0 +1,318 @@
+package clap.publicApiTest;
+
+import clap.*;
+import clap.arguments.*;
+import clap.exceptions.ArgumentException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Schema")
+final class SchemaTest {
+    @Test
+    void parsesIntoIndependentResults() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        final var optA = manager.makeArgument(StringArgument.class).addName("a").finishGeneral();
+        final var optV = manager.makeArgument(SimpleArgument.class).addName("v").finishGeneral();
+        final Schema schema = manager.freeze();
+        // act
+        final ParseResult first = schema.parse(new String[]{"-a", "first", "-v"});
+        final ParseResult second = schema.parse(new String[]{"-a", "second", "plain"});
+        // assert
+        assertEquals("first", first.getValue(optA, 0));
+        assertTrue(first.isSet(optV));
+        assertEquals("second", second.getValue(optA, 0));
+        assertFalse(second.isSet(optV));
+        assertArrayEquals(new String[]{"plain"}, second.getTrailingArguments());
+        assertFalse(manager.areArgumentsParsed());
+    }
+
+    @Test
+    void ignoresConfigurationChangedAfterFreezing() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        final var optA = manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral();
+        final Schema schema = manager.freeze();
+        // act
+        optA.setValidator(value -> value < 0);
+        final ParseResult result = schema.parse(new String[]{"-a", "1"});
+        // assert
+        assertEquals(Integer.valueOf(1), result.getValue(optA, 0));
+    }
+
+    @Test
+    void findsArgumentsInLargeCatalog() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        final List<IntegerArgument> options = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            options.add(manager.makeArgument(IntegerArgument::new).addName("option" + i).addName("o" + i).finishGeneral());
+        }
+        manager.makeArgument(StringArgument::new).addName("name").finishGeneral().required();
+        final Schema schema = manager.freeze();
+        // act
+        final ParseResult result = schema.tryParse(new String[]{"--option4999", "1", "-o0", "2", "--name", "x"});
+        final ParseResult unknown = schema.tryParse(new String[]{"-o5000", "1"});
+        final ParseResult missing = schema.tryParse(new String[]{"-option17", "1"});
+        // assert
+        assertTrue(result.isSuccessful());
+        assertEquals(Integer.valueOf(1), result.getValue(options.get(4999), 0));
+        assertEquals(Integer.valueOf(2), result.getValue(options.get(0), 0));
+        assertEquals("Unknown argument name -o5000, did you mean -o1000 or -o2000 or -o3000?", unknown.getErrorMessage());
+        assertEquals("Required argument [name] is not set!", missing.getErrorMessage());
+    }
+
+    @Test
+    void matchesUniquePrefixes() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{}).allowAbbreviations();
+        final var port = manager.makeArgument(IntegerArgument::new).addName("port").finishGeneral();
+        final var portability = manager.makeArgument(SimpleArgument::new).addName("portability").finishGeneral();
+        final var verbose = manager.makeArgument(SimpleArgument::new).addName("verbose").addName("verb").finishGeneral();
+        final Schema schema = manager.freeze();
+        // act
+        final ParseResult result = schema.tryParse(new String[]{"--port", "80", "--porta", "-v"});
+        // assert
+        assertTrue(schema.acceptsAbbreviations());
+        assertTrue(result.isSuccessful());
+        assertEquals(Integer.valueOf(80), result.getValue(port, 0));
+        assertTrue(result.isSet(portability));
+        assertTrue(result.isSet(verbose));
+    }
+
+    @Test
+    void reportsAmbiguousPrefixes() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"--po"}).allowAbbreviations();
+        manager.makeArgument(IntegerArgument::new).addName("port").finishGeneral();
+        manager.makeArgument(SimpleArgument::new).addName("portability").finishGeneral();
+        manager.makeArgument(SimpleArgument::new).addName("pool").finishGeneral();
+        final Schema schema = manager.freeze();
+        // act
+        final ParseResult ambiguous = schema.tryParse(new String[]{"--po"});
+        final ParseResult unknown = schema.tryParse(new String[]{"--px"});
+        // assert
+        assertEquals(ParseError.AMBIGUOUS_ARGUMENT, ambiguous.getError());
+        assertEquals("Ambiguous argument name --po, it matches [pool, port, portability]", ambiguous.getErrorMessage());
+        assertEquals(ParseError.UNKNOWN_ARGUMENT, unknown.getError());
+        final ArgumentException exception = assertThrows(ArgumentException.class, manager::parseArguments);
+        assertEquals("Ambiguous argument name --po, it matches [pool, port, portability]", exception.getMessage());
+    }
+
+    @Test
+    void acceptsOnlyWholeNamesByDefault() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(SimpleArgument::new).addName("portability").finishGeneral();
+        final Schema schema = manager.freeze();
+        // act
+        final ParseResult result = schema.tryParse(new String[]{"--port"});
+        // assert
+        assertFalse(schema.acceptsAbbreviations());
+        assertEquals(ParseError.UNKNOWN_ARGUMENT, result.getError());
+    }
+
+    @Test
+    void throwsOnMissingRequiredArguments() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral().required();
+        final Schema schema = manager.freeze();
+        // act & assert
+        assertThrows(ArgumentException.class, () -> schema.parse(new String[]{}));
+    }
+
+    @Test
+    void throwsOnArgumentOfOtherManager() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        final Schema schema = manager.freeze();
+        final var foreign = new Manager(new String[]{}).makeArgument(SimpleArgument.class).addName("a").finishGeneral();
+        final ParseResult result = schema.parse(new String[]{});
+        // act & assert
+        assertThrows(IllegalArgumentException.class, () -> result.isSet(foreign));
+    }
+
+    @Test
+    void parsesConcurrently() throws Exception {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        final var optN = manager.makeArgument(IntegerArgument.class).addName("n").finishGeneral().setSeparator(',');
+        final Schema schema = manager.freeze();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<Boolean>> futures = new ArrayList<>();
+        // act
+        for (int i = 0; i < 64; i++) {
+            final int value = i;
+            futures.add(executor.submit(() -> {
+                final ParseResult result = schema.parse(new String[]{"-n", value + "," + (value + 1)});
+                return result.getValue(optN, 0) == value && result.getValue(optN, 1) == value + 1;
+            }));
+        }
+        // assert
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get());
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Provides arguments for {@link #tryParseDescribesFailure(String[], ParseError, int, String)}.
+     * @return Stream of arguments.
+     */
+    static Stream<Arguments> provideInvalidArgs() {
+        return Stream.of(
+                Arguments.of(new String[]{"-n", "1", "--unknown"}, ParseError.UNKNOWN_ARGUMENT, 2, "Unknown argument name --unknown"),
+                Arguments.of(new String[]{"-r", "x", "-n"}, ParseError.MISSING_PARAMETER, 2, "Argument -n expects a parameter!"),
+                Arguments.of(new String[]{"-r", "x", "-n", "1,a"}, ParseError.MALFORMED_VALUE, 3, "Cannot parse to int value: a"),
+                Arguments.of(new String[]{"-r", "x", "-n", "1,-2"}, ParseError.VALIDATION_FAILED, 3, "Validation failed with value: -2"),
+                Arguments.of(new String[]{"-n", "1"}, ParseError.MISSING_REQUIRED_ARGUMENT, -1, "Required argument [r] is not set!")
+        );
+    }
+    @ParameterizedTest
+    @MethodSource("provideInvalidArgs")
+    void tryParseDescribesFailure(String[] args, ParseError error, int index, String message) throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(IntegerArgument.class).addName("n").finishGeneral().setSeparator(',').setIntValidator(value -> value >= 0);
+        manager.makeArgument(StringArgument.class).addName("r").finishGeneral().required();
+        final Schema schema = manager.freeze();
+        // act
+        final ParseResult result = schema.tryParse(args);
+        // assert
+        assertFalse(result.isSuccessful());
+        assertEquals(error, result.getError());
+        assertEquals(index, result.getErrorIndex());
+        assertEquals(message, result.getErrorMessage());
+        final var exception = assertThrows(ArgumentException.class, () -> schema.parse(args));
+        assertEquals(message, exception.getMessage());
+    }
+
+    @Test
+    void tryParseSucceedsOnValidArguments() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(SimpleArgument.class).addName("v").finishGeneral();
+        final Schema schema = manager.freeze();
+        // act
+        final ParseResult result = schema.tryParse(new String[]{"-v"});
+        // assert
+        assertTrue(result.isSuccessful());
+        assertNull(result.getError());
+        assertEquals(-1, result.getErrorIndex());
+        assertNull(result.getErrorMessage());
+    }
+
+    @Test
+    void convertsLazyValuesOnlyWhenAccessed() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        final var optA = manager.makeArgument(LongArgument.class).addName("a").finishGeneral().setSeparator(',').convertLazily();
+        final var optB = manager.makeArgument(StringArgument.class).addName("b").finishGeneral()
+                .setValidator(value -> !value.isEmpty()).convertLazily();
+        final Schema schema = manager.freeze();
+        // act
+        final ParseResult result = schema.parse(new String[]{"-b", "", "-a", "5,y"});
+        // assert
+        assertTrue(result.isSuccessful());
+        assertEquals(2, result.getNumberOfValues(optA));
+        assertEquals(5L, result.getLong(optA, 0));
+        assertThrows(IllegalStateException.class, () -> result.getLong(optA, 1));
+        assertFalse(result.isSuccessful());
+        assertEquals(3, result.getErrorIndex());
+    }
+
+    @Test
+    void validateAllFollowsDefinitionOrder() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(StringArgument.class).addName("a").finishGeneral()
+                .setValidator(value -> !value.isEmpty()).convertLazily();
+        manager.makeArgument(LongArgument.class).addName("b").finishGeneral().convertLazily();
+        final Schema schema = manager.freeze();
+        // act
+        final ParseResult result = schema.parse(new String[]{"-b", "y", "-a", ""});
+        // assert
+        assertTrue(result.isSuccessful());
+        assertFalse(result.validateAll());
+        assertEquals(ParseError.VALIDATION_FAILED, result.getError());
+        assertEquals(3, result.getErrorIndex());
+        assertEquals("Validation failed with value: ", result.getErrorMessage());
+    }
+
+    @Test
+    void validatesSingleLazyArgument() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        final var optA = manager.makeArgument(DoubleArgument.class).addName("a").finishGeneral().setSeparator(',').convertLazily();
+        final Schema schema = manager.freeze();
+        // act
+        final ParseResult valid = schema.parse(new String[]{"-a", "0.5,2"});
+        final ParseResult invalid = schema.parse(new String[]{"-a", "0.5,z"});
+        // assert
+        assertTrue(valid.validate(optA));
+        assertArrayEquals(new double[]{0.5, 2}, valid.toDoubleArray(optA));
+        assertTrue(invalid.validate(optA, 0));
+        assertFalse(invalid.validate(optA));
+        assertEquals(ParseError.MALFORMED_VALUE, invalid.getError());
+        assertEquals("Cannot parse to double value: z", invalid.getErrorMessage());
+    }
+
+    @Test
+    void describesValidationFailureWithoutValidatingAgain() throws ArgumentException {
+        // arrange
+        final AtomicInteger calls = new AtomicInteger();
+        final Manager manager = new Manager(new String[]{"-a", "x,y"});
+        manager.makeArgument(StringArgument.class).addName("a").finishGeneral()
+                .setSeparator(',').setValidator(value -> calls.incrementAndGet() > 1);
+        // act
+        final ParseResult result = manager.tryParseArguments();
+        // assert
+        assertEquals(ParseError.VALIDATION_FAILED, result.getError());
+        assertEquals("Validation failed with value: x", result.getErrorMessage());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void throwsDescribedFailureOfStatefulValidator() throws ArgumentException {
+        // arrange
+        final AtomicInteger calls = new AtomicInteger();
+        final Manager manager = new Manager(new String[]{"-a", "1"});
+        manager.makeArgument(IntegerArgument.class).addName("a").finishGeneral().setIntValidator(value -> calls.incrementAndGet() > 1);
+        // act
+        final ArgumentException exception = assertThrows(ArgumentException.class, manager::parseArguments);
+        // assert
+        assertEquals("Validation failed with value: 1", exception.getMessage());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void describesLazyFailureWithoutValidatingAgain() throws ArgumentException {
+        // arrange
+        final AtomicInteger calls = new AtomicInteger();
+        final Manager manager = new Manager(new String[]{});
+        manager.makeArgument(LongArgument.class).addName("a").finishGeneral()
+                .setSeparator(',').setLongValidator(value -> calls.incrementAndGet() > 1).convertLazily();
+        final Schema schema = manager.freeze();
+        // act
+        final ParseResult result = schema.tryParse(new String[]{"-a", "7,8"});
+        result.validateAll();
+        // assert
+        assertEquals(ParseError.VALIDATION_FAILED, result.getError());
+        assertEquals("Validation failed with value: 7", result.getErrorMessage());
+        assertEquals(1, calls.get());
+    }
+}
@@ -6,7 +6,7 @@ import clap.exceptions.ArgumentException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Contains tests that are executed on class {@link SimpleArgument},
@@ -24,4 +24,72 @@ class SimpleArgumentTest {
         // act & assert
         assertDoesNotThrow(manager::parseArguments);
     }
+
+    /**
+     * Custom argument which stores its value itself.
+     */
+    static final class UpperCaseArgument extends SimpleArgument {
+        String value;
+
+        UpperCaseArgument(Manager owner) {
+            super(owner);
+        }
+
+        @Override
+        public void setValue(String value) throws ArgumentException {
+            if (value.isEmpty()) {
+                throw new ArgumentException("Value cannot be empty!");
+            }
+            this.value = value.toUpperCase();
+        }
+
+        @Override
+        public void resetValue() {
+            value = null;
+        }
+
+        @Override
+        public boolean expectsParameters() {
+            return true;
+        }
+    }
+
+    @Test
+    void passesValuesToCustomArguments() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-u", "abc"});
+        final UpperCaseArgument argument = manager.makeArgument(UpperCaseArgument::new).addName("u").finishGeneral();
+        // act
+        manager.parseArguments();
+        // assert
+        assertTrue(argument.isSet());
+        assertEquals("ABC", argument.value);
+    }
+
+    @Test
+    void resetsCustomArgumentsBeforeParsing() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-u", "abc"});
+        final UpperCaseArgument argument = manager.makeArgument(UpperCaseArgument::new).addName("u").finishGeneral();
+        manager.parseArguments();
+        // act
+        manager.reset(new String[]{});
+        manager.parseArguments();
+        // assert
+        assertFalse(argument.isSet());
+        assertNull(argument.value);
+    }
+
+    @Test
+    void reportsValuesRejectedByCustomArguments() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-u", ""});
+        manager.makeArgument(UpperCaseArgument::new).addName("u").finishGeneral();
+        // act
+        final ParseResult result = manager.tryParseArguments();
+        // assert
+        assertEquals(ParseError.MALFORMED_VALUE, result.getError());
+        assertEquals(1, result.getErrorIndex());
+        assertEquals("Value cannot be empty!", result.getErrorMessage());
+    }
 }
@@ -5,7 +5,10 @@ import clap.arguments.SimpleArgument;
 import clap.arguments.StringArgument;
 import clap.exceptions.ArgumentException;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,6 +45,58 @@ final class StringArgumentTest extends SimpleArgumentBaseTest {
         assertDoesNotThrow(manager::parseArguments);
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"", ",", "a", "a,b", ",a", "a,,b", "a,b,", "a,b,,", ",,"})
+    void splitsValuesLikeStringSplit(String value) throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"-a", value});
+        final var argA = manager.makeArgument(StringArgument.class).addName("a").finishGeneral().setSeparator(',');
+        // act
+        manager.parseArguments();
+        // assert
+        final String[] expected = value.split(",");
+        final String[] received = new String[argA.getNumberOfValues()];
+        for (int i = 0; i < received.length; i++) {
+            received[i] = argA.getValue(i);
+        }
+        assertArrayEquals(expected, received);
+    }
+
+    @Test
+    void validatesInParallelLikeSequentially() throws ArgumentException {
+        // arrange
+        final var values = new String[50_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 9_999 == 9_998 ? "bad" + i : "id" + i;
+        }
+        final var args = new String[]{"-a", String.join(";", values)};
+        final Manager manager = new Manager(args);
+        manager.makeArgument(StringArgument.class).addName("a").finishGeneral()
+                .setSeparator(';').setValidator(value -> value.startsWith("id")).convertInParallel(100);
+        // act
+        final var exception = assertThrows(ArgumentException.class, manager::parseArguments);
+        // assert
+        assertEquals("Validation failed with value: bad9998", exception.getMessage());
+    }
+
+    @Test
+    void describesParallelFailureWithoutValidatingAgain() throws ArgumentException {
+        // arrange
+        final var values = new String[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i == values.length - 1 ? "bad" : "id" + i;
+        }
+        final AtomicInteger calls = new AtomicInteger();
+        final Manager manager = new Manager(new String[]{"-a", String.join(";", values)});
+        manager.makeArgument(StringArgument.class).addName("a").finishGeneral()
+                .setSeparator(';').setValidator(value -> calls.incrementAndGet() > 0 && value.startsWith("id")).convertInParallel(100);
+        // act
+        final ParseResult result = manager.tryParseArguments();
+        // assert
+        assertEquals("Validation failed with value: bad", result.getErrorMessage());
+        assertEquals(values.length, calls.get());
+    }
+
     @Override
     Stream<String[]> stringValuesToParse() {
         return Stream.of(new String[]{"value1"}, new String[]{"value1", "value2", "value3"});
@@ -0,0 +1,89 @@
+package clap.publicApiTest;
+
+import clap.*;
+import clap.arguments.*;
+import clap.exceptions.ArgumentException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Token source")
+final class TokenSourceTest {
+    @Test
+    void managerParsesIteratorSource() throws ArgumentException {
+        // arrange
+        final Manager manager = Manager.fromSource(TokenSource.of(List.of("-a", "value", "plain").iterator()));
+        final var optA = manager.makeArgument(StringArgument.class).addName("a").finishGeneral();
+        // act
+        manager.parseArguments();
+        // assert
+        assertEquals("value", optA.getValue(0));
+        assertArrayEquals(new String[]{"plain"}, manager.getTrailingArguments());
+    }
+
+    @Test
+    void readerSourceSplitsByNulCharacter() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{});
+        final var optA = manager.makeArgument(StringArgument.class).addName("a").finishGeneral();
+        final Schema schema = manager.freeze();
+        // act
+        final ParseResult result = schema.parse(TokenSource.of(new StringReader("-a\0with space\nand newline\0\0last"), '\0'));
+        // assert
+        assertEquals("with space\nand newline", result.getValue(optA, 0));
+        assertArrayEquals(new String[]{"", "last"}, result.getTrailingArguments());
+    }
+
+    @Test
+    void readerSourceSplitsByNewline() throws ArgumentException {
+        // arrange
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            input.append("token").append(i).append(i % 2 == 0 ? "\n" : "\r\n");
+        }
+        final Manager manager = Manager.fromSource(TokenSource.of(new StringReader(input.toString()), '\n'));
+        // act
+        final String[] trailing = manager.getTrailingArguments();
+        // assert
+        assertEquals(10000, trailing.length);
+        assertEquals("token0", trailing[0]);
+        assertEquals("token9999", trailing[9999]);
+    }
+
+    @Test
+    void reportsUnreadableSource() {
+        // arrange
+        final Reader failing = new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("broken pipe");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        final Manager manager = Manager.fromSource(TokenSource.of(failing, '\0'));
+        // act
+        final ParseResult result = manager.tryParseArguments();
+        // assert
+        assertEquals(ParseError.SOURCE_UNREADABLE, result.getError());
+    }
+
+    @Test
+    void resetSourceReplacesArguments() throws ArgumentException {
+        // arrange
+        final Manager manager = new Manager(new String[]{"first"});
+        manager.parseArguments();
+        // act
+        manager.resetSource(TokenSource.of(List.of("second").iterator()));
+        // assert
+        assertArrayEquals(new String[]{"second"}, manager.getTrailingArguments());
+    }
+}